@@ -0,0 +1,135 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The metrics of a month with 1M orders, from the single pass accumulator and from the
+ * per metric stream passes over Order objects it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class VendorMetricsBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+
+    private static final int DAYS = 30;
+
+    private LocalDate firstDay;
+
+    private LocalDate lastDay;
+
+    private int[] statuses;
+
+    private double[] totals;
+
+    private long[] epochDays;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        lastDay = LocalDate.now();
+        firstDay = lastDay.minusDays(DAYS - 1);
+        OrderStatus[] values = OrderStatus.values();
+        Random random = new Random(42);
+
+        statuses = new int[ORDERS];
+        totals = new double[ORDERS];
+        epochDays = new long[ORDERS];
+        orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            OrderStatus status = random.nextInt(10) < 7 ? OrderStatus.COMPLETED : values[random.nextInt(values.length)];
+            LocalDate day = firstDay.plusDays(random.nextInt(DAYS));
+            double total = 5 + random.nextInt(4000) / 100.0;
+            statuses[i] = status.ordinal();
+            totals[i] = total;
+            epochDays[i] = day.toEpochDay();
+            orders.add(Order.builder().status(status).total(total)
+                    .createdAt(day.atStartOfDay(ZoneId.systemDefault()).plusHours(12)).build());
+        }
+    }
+
+    @Benchmark
+    public void accumulator(Blackhole blackhole) {
+        VendorMetricsAccumulator metrics = new VendorMetricsAccumulator(firstDay, lastDay);
+        for (int i = 0; i < ORDERS; i++)
+            metrics.add(statuses[i], 1, totals[i], epochDays[i]);
+
+        blackhole.consume(metrics.getCompletedRevenue());
+        blackhole.consume(metrics.getAverageOrderValue());
+        blackhole.consume(metrics.getCompletionRate());
+        blackhole.consume(VendorMetricsAccumulator.growth(metrics.getCompletedRevenue(), metrics.getCompletedRevenue() / 2));
+        blackhole.consume(metrics.getDayRevenue(lastDay));
+        blackhole.consume(metrics.getDayOfWeekRevenue(DayOfWeek.MONDAY));
+    }
+
+    @Benchmark
+    public void streamPasses(Blackhole blackhole) {
+        double revenue = orders.stream()
+                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
+                .map(Order::getTotal)
+                .reduce(0.0, Double::sum);
+        long completed = orders.stream().filter(o -> o.getStatus() == OrderStatus.COMPLETED).count();
+        double average = completed > 0 ? revenue / completed : 0;
+        double completionRate = orders.isEmpty() ? 0 : completed * 100.0 / orders.size();
+        double growth = BigDecimal.valueOf(revenue).subtract(BigDecimal.valueOf(revenue / 2))
+                .divide(BigDecimal.valueOf(revenue / 2), 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100))
+                .doubleValue();
+        Map<OrderStatus, Long> byStatus = orders.stream()
+                .collect(Collectors.groupingBy(Order::getStatus, Collectors.counting()));
+
+        Map<LocalDate, Double> daily = new LinkedHashMap<>();
+        for (int i = 0; i < DAYS; i++)
+            daily.put(firstDay.plusDays(i), 0.0);
+        Map<DayOfWeek, Double> byDayOfWeek = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values())
+            byDayOfWeek.put(day, 0.0);
+        orders.stream()
+                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
+                .forEach(o -> {
+                    ZonedDateTime createdAt = o.getCreatedAt();
+                    daily.computeIfPresent(createdAt.toLocalDate(), (day, sum) -> sum + o.getTotal());
+                    byDayOfWeek.merge(createdAt.getDayOfWeek(), o.getTotal(), Double::sum);
+                });
+
+        blackhole.consume(revenue);
+        blackhole.consume(average);
+        blackhole.consume(completionRate);
+        blackhole.consume(growth);
+        blackhole.consume(byStatus);
+        blackhole.consume(daily);
+        blackhole.consume(byDayOfWeek);
+    }
+}
@@ -0,0 +1,71 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Utils;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Configs.SecurityConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work of one request on the authentication filter path. Before, the filter read the
+ * username and validateToken read it again along with the expiration, each through a parser
+ * built over the base64 secret on the spot. Now the token is verified once by the shared
+ * parser and validated against the claims.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenValidity", 3_600_000L);
+        token = jwtUtil.createAccessToken("student", UUID.randomUUID());
+    }
+
+    @Benchmark
+    public boolean parsedPerClaim() {
+        String username = claims().getSubject();
+        String user = claims().getSubject();
+        Date expiration = claims().getExpiration();
+        return username != null && user.equals(username) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean parsedOnce() {
+        JwtClaims claims = jwtUtil.parse(token);
+        String username = claims.getSubject();
+        return username != null && jwtUtil.validateToken(claims, username);
+    }
+
+    private Claims claims() {
+        JwtParser parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SecurityConfig.secretKey)))
+                .build();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
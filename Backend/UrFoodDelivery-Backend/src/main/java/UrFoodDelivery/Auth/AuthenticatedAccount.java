@@ -0,0 +1,50 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Auth;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.AccountRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Principal placed in the SecurityContext by the JWT filter, carries what the
+ * services need to identify the caller without loading the account again.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AuthenticatedAccount implements UserDetails {
+
+    private final UUID accountUid;
+
+    private final String username;
+
+    private final AccountRole role;
+
+    private final boolean approved;
+
+    private final boolean appliedAsVendor;
+
+    //null unless the account is an approved vendor
+    private final UUID vendorUid;
+
+    public boolean isApprovedVendor() {
+        return appliedAsVendor && approved && vendorUid != null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
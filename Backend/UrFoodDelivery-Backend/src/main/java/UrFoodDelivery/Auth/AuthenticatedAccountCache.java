@@ -0,0 +1,90 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Auth;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.VendorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small cache of {@link AuthenticatedAccount} by username. Entries expire after a
+ * short ttl and must be invalidated whenever the role, approval or username of an
+ * account changes.
+ */
+@Component
+public class AuthenticatedAccountCache {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Value("${auth.principal-cache.ttl-ms:300000}")
+    private long ttl;
+
+    @Value("${auth.principal-cache.max-size:20000}")
+    private int maxSize;
+
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+
+    public AuthenticatedAccount load(String username) throws UsernameNotFoundException {
+        String key = key(username);
+        long now = System.currentTimeMillis();
+
+        CachedPrincipal cached = principals.get(key);
+        if (cached != null && cached.expiresAt > now)
+            return cached.principal;
+
+        AuthenticatedAccount principal = loadFromDatabase(username);
+
+        if (principals.size() >= maxSize)
+            principals.values().removeIf(entry -> entry.expiresAt <= now);
+        if (principals.size() < maxSize)
+            principals.put(key, new CachedPrincipal(principal, now + ttl));
+
+        return principal;
+    }
+
+    public void invalidate(String username) {
+        if (username != null)
+            principals.remove(key(username));
+    }
+
+    private AuthenticatedAccount loadFromDatabase(String username) {
+        Optional<Account> optionalAccount = accountRepository.findByUsernameIgnoreCase(username);
+        if (optionalAccount.isEmpty())
+            throw new UsernameNotFoundException("User not found with username: " + username);
+
+        Account account = optionalAccount.get();
+        boolean appliedAsVendor = Boolean.TRUE.equals(account.getAppliedAsVendor());
+
+        AuthenticatedAccount.AuthenticatedAccountBuilder builder = AuthenticatedAccount.builder()
+                .accountUid(account.getUid())
+                .username(account.getUsername())
+                .role(account.getRole())
+                .approved(account.isApproved())
+                .appliedAsVendor(appliedAsVendor);
+
+        if (appliedAsVendor && account.isApproved())
+            vendorRepository.findByVendorAccount(account)
+                    .map(Vendor::getUid)
+                    .ifPresent(builder::vendorUid);
+
+        return builder.build();
+    }
+
+    private static String key(String username) {
+        return Account.normalizeUsername(username);
+    }
+
+    private record CachedPrincipal(AuthenticatedAccount principal, long expiresAt) {
+    }
+}
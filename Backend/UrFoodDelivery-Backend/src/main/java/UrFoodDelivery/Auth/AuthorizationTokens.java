@@ -12,6 +12,10 @@ import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_authorization_tokens_last_access", columnList = "lastAccess"),
+        @Index(name = "idx_authorization_tokens_logged_out", columnList = "loggedOut, logoutTime")
+})
 @Builder
 @Data
 @AllArgsConstructor
@@ -21,9 +25,6 @@ public class AuthorizationTokens {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID uid;
 
-    @Column(unique = true)
-    private String value;
-
     private Date created;
 
     private Long lastAccess;
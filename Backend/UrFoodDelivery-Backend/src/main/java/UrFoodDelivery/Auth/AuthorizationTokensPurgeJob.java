@@ -0,0 +1,90 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes sessions that are logged out or past their inActiveTime, and refresh tokens
+ * that expired or were revoked. Each statement removes at most one chunk and commits on
+ * its own, so no delete holds row locks for long.
+ */
+@Slf4j
+@Component
+public class AuthorizationTokensPurgeJob {
+
+    private static final String DELETE_LOGGED_OUT_SESSIONS =
+            "delete from authorization_tokens where logged_out = true and logout_time < ? limit ?";
+
+    //range on last_access for the index, the exact expiry is rechecked per row
+    private static final String DELETE_INACTIVE_SESSIONS =
+            "delete from authorization_tokens where last_access < ? and last_access + in_active_time < ? limit ?";
+
+    private static final String DELETE_REFRESH_TOKENS =
+            "delete from refresh_token where expires_at < ? or revoked = true limit ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.token-purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${auth.token-purge.max-chunks:200}")
+    private int maxChunks;
+
+    @Value("${auth.token-purge.pause-ms:50}")
+    private long pause;
+
+    //revoked sessions only need to stay in the denylist, the row can go once the access tokens expired
+    @Value("${auth.access-token.validity-ms:900000}")
+    private long accessTokenValidity;
+
+    //longest inActiveTime sessions are created with (account logins), sessions with a shorter
+    //one are deleted a little late and the recheck keeps any longer lived one
+    @Value("${auth.session.max-inactive-ms:7200000}")
+    private long maxInactive;
+
+    @Scheduled(fixedDelayString = "${auth.token-purge.interval-ms:600000}",
+            initialDelayString = "${auth.token-purge.initial-delay-ms:60000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        int sessions = purgeInChunks(DELETE_LOGGED_OUT_SESSIONS, new Date(now - accessTokenValidity))
+                + purgeInChunks(DELETE_INACTIVE_SESSIONS, now - maxInactive, now);
+        int refreshTokens = purgeInChunks(DELETE_REFRESH_TOKENS, now);
+        if (sessions > 0 || refreshTokens > 0)
+            log.info("Purged {} sessions and {} refresh tokens", sessions, refreshTokens);
+    }
+
+    private int purgeInChunks(String sql, Object... params) {
+        Object[] args = new Object[params.length + 1];
+        System.arraycopy(params, 0, args, 0, params.length);
+        args[params.length] = chunkSize;
+
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            int deleted;
+            try {
+                deleted = jdbcTemplate.update(sql, args);
+            } catch (Exception es) {
+                log.error("Token purge chunk failed, continuing on next run", es);
+                break;
+            }
+            total += deleted;
+            if (deleted < chunkSize)
+                break;
+            try {
+                TimeUnit.MILLISECONDS.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+}
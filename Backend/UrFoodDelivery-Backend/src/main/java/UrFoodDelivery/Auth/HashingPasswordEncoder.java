@@ -0,0 +1,223 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Auth;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt encoder that runs every hash and verification on its own bounded pool so a
+ * burst of logins can not take all request threads. When the pool and its queue are
+ * full the request is rejected straight away with a 429. The cost is calibrated at
+ * startup, existing hashes keep verifying with the cost stored in them.
+ * <p>
+ * A running bcrypt can not be interrupted, a caller that times out only gets its task
+ * dropped if it is still queued. The queue is therefore capped to what the pool works
+ * through within the timeout at the calibrated cost, so a queued task normally runs in
+ * time and the backlog is rejected up front instead of burning threads on hashes
+ * nobody waits for.
+ */
+@Slf4j
+@Component
+public class HashingPasswordEncoder implements PasswordEncoder {
+
+    private static final int MIN_BCRYPT_COST = 10;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${auth.password-hashing.timeout-ms:5000}")
+    private long timeout;
+
+    @Value("${auth.password-hashing.target-ms:250}")
+    private long targetLatency;
+
+    @Value("${auth.password-hashing.max-cost:14}")
+    private int maxCost;
+
+    //hashes of one bulk import in flight at a time, the rest of the pool stays free for logins
+    @Value("${auth.password-hashing.import-parallelism:0}")
+    private int importParallelism;
+
+    private Semaphore importPermits;
+
+    private ThreadPoolExecutor executor;
+
+    private BCryptPasswordEncoder delegate;
+
+    private Timer encodeTimer;
+
+    private Timer matchesTimer;
+
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int cost = calibrateCost();
+        delegate = new BCryptPasswordEncoder(cost);
+
+        //every poolSize queued tasks add one hash time of waiting
+        long hashMillis = Math.max(1, measure(cost));
+        long drainable = poolSize * Math.max(1, timeout / hashMillis - 1);
+        int queueSize = (int) Math.max(1, Math.min(queueCapacity, drainable));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        importPermits = new Semaphore(importParallelism > 0 ? importParallelism : Math.max(1, poolSize / 2));
+
+        log.info("Password hashing uses bcrypt cost {} ({} ms per hash) on {} threads, queue capacity {}",
+                cost, hashMillis, poolSize, queueSize);
+
+        meterRegistry.gauge("auth.password.hashing.queue", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+        encodeTimer = Timer.builder("auth.password.hashing").tag("operation", "encode").register(meterRegistry);
+        matchesTimer = Timer.builder("auth.password.hashing").tag("operation", "matches").register(meterRegistry);
+        rejected = Counter.builder("auth.password.hashing.rejected").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    /**
+     * Hash a batch for bulk imports on the same pool, at most import-parallelism hashes
+     * are queued or running at once so logins still find room. Waits instead of failing
+     * when the pool is busy, an import is not a request anyone is waiting on.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                importPermits.acquire();
+                futures.add(submitImport(() -> {
+                    try {
+                        return encodeTimer.record(() -> delegate.encode(rawPassword));
+                    } finally {
+                        importPermits.release();
+                    }
+                }));
+            }
+
+            List<String> hashes = new ArrayList<>(futures.size());
+            for (Future<String> future : futures)
+                hashes.add(future.get());
+            return hashes;
+        } catch (InterruptedException e) {
+            //submitted hashes still finish and hand their permits back
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    //logins filled the queue, back off until there is room
+    private Future<String> submitImport(Callable<String> task) throws InterruptedException {
+        while (true) {
+            try {
+                return executor.submit(task);
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    importPermits.release();
+                    throw e;
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Server is busy, please try again shortly");
+        }
+
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            //only drops the task if it is still queued, a running hash finishes anyway
+            future.cancel(false);
+            rejected.increment();
+            throw new TooManyRequestsException("Server is busy, please try again shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Highest cost whose hash time stays under the target, every step doubles the work
+     */
+    private int calibrateCost() {
+        int cost = MIN_BCRYPT_COST;
+        //first hash warms up the jit, measure the second one
+        new BCryptPasswordEncoder(cost).encode("calibration");
+        long elapsed = measure(cost);
+        while (cost < maxCost && elapsed * 2 <= targetLatency) {
+            cost++;
+            elapsed = measure(cost);
+        }
+        return cost;
+    }
+
+    private long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,44 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Auth;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_refresh_token_session", columnList = "sessionId"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expiresAt")
+})
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID uid;
+
+    //sha-256 of the token handed to the client, the raw value is never stored
+    @Column(unique = true, length = 64, columnDefinition = "char(64)")
+    private String tokenHash;
+
+    //the AuthorizationTokens row of the login session this token belongs to
+    private UUID sessionId;
+
+    private UUID accountId;
+
+    private Date created;
+
+    private Long expiresAt;
+
+    //set when the token is rotated, presenting it again revokes the whole session
+    private Long usedAt;
+
+    @Column(columnDefinition = "BOOLEAN DEFAULT false")
+    private Boolean revoked;
+}
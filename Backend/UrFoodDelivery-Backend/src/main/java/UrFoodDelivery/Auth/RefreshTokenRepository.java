@@ -0,0 +1,24 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Auth;
+
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt=?2 where r.uid=?1 and r.usedAt is null")
+    int markUsed(UUID uid, Long usedAt);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked=true where r.sessionId=?1")
+    int revokeBySessionId(UUID sessionId);
+}
@@ -0,0 +1,96 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Auth;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.JwtUtil;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.MyUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private AuthorizationTokensRepository authorizationTokensRepository;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${auth.refresh-token.validity-ms:604800000}")
+    private long refreshTokenValidity;
+
+    /**
+     * Create a refresh token for the session, only its hash is persisted
+     */
+    public String issue(UUID sessionId, UUID accountId) {
+        String token = MyUtils.generateSecureToken(32);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(MyUtils.sha256Hex(token))
+                .sessionId(sessionId)
+                .accountId(accountId)
+                .created(new Date())
+                .expiresAt(System.currentTimeMillis() + refreshTokenValidity)
+                .revoked(false)
+                .build());
+
+        return token;
+    }
+
+    /**
+     * Mark the refresh token as used so it can be rotated. A token that was already
+     * used means it leaked, so the whole session is revoked.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public RefreshToken consume(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(MyUtils.sha256Hex(token))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        long now = System.currentTimeMillis();
+        if (Boolean.TRUE.equals(refreshToken.getRevoked()) || refreshToken.getExpiresAt() <= now)
+            throw new BadCredentialsException("Refresh token expired");
+
+        if (refreshTokenRepository.markUsed(refreshToken.getUid(), now) == 0) {
+            log.warn("Refresh token reuse detected, revoking session {}", refreshToken.getSessionId());
+            revokeSession(refreshToken.getSessionId());
+            throw new BadCredentialsException("Refresh token already used");
+        }
+
+        return refreshToken;
+    }
+
+    /**
+     * Session a refresh token belongs to, without using it up
+     */
+    public UUID sessionOf(String token) {
+        return refreshTokenRepository.findByTokenHash(MyUtils.sha256Hex(token))
+                .map(RefreshToken::getSessionId)
+                .orElse(null);
+    }
+
+    /**
+     * Log the session out, revoke its refresh tokens and deny its outstanding access tokens
+     */
+    @Transactional
+    public void revokeSession(UUID sessionId) {
+        authorizationTokensRepository.findById(sessionId).ifPresent(authorizationTokens -> {
+            authorizationTokens.setLoggedOut(true);
+            authorizationTokens.setLogoutTime(new Date());
+            authorizationTokensRepository.save(authorizationTokens);
+        });
+        refreshTokenRepository.revokeBySessionId(sessionId);
+        tokenRevocationList.revoke(sessionId, System.currentTimeMillis() + jwtUtil.getAccessTokenValidity());
+    }
+}
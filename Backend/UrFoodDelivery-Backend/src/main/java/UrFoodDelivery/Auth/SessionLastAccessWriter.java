@@ -0,0 +1,82 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Auth;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.MyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records session activity in memory so authenticated requests never write to the
+ * tokens table. lastAccess updates are coalesced per session and written back in
+ * batches by {@link #flushLastAccess()}.
+ */
+@Slf4j
+@Component
+public class SessionLastAccessWriter {
+
+    private static final String UPDATE_LAST_ACCESS =
+            "update authorization_tokens set last_access=? where uid=? and (last_access is null or last_access<?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${auth.session-cache.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    private final Map<UUID, Long> pendingLastAccess = new ConcurrentHashMap<>();
+
+    /**
+     * Record an access in memory, the database row is updated on the next flush
+     */
+    public void touch(UUID sessionId) {
+        pendingLastAccess.merge(sessionId, System.currentTimeMillis(), Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.session-cache.flush-interval-ms:15000}")
+    public void flushLastAccess() {
+        if (pendingLastAccess.isEmpty())
+            return;
+
+        List<Map.Entry<UUID, Long>> batch = new ArrayList<>(Math.min(pendingLastAccess.size(), flushBatchSize));
+        for (UUID uid : pendingLastAccess.keySet()) {
+            Long lastAccess = pendingLastAccess.remove(uid);
+            if (lastAccess == null)
+                continue;
+            batch.add(Map.entry(uid, lastAccess));
+            if (batch.size() >= flushBatchSize) {
+                writeBatch(batch);
+                batch = new ArrayList<>(flushBatchSize);
+            }
+        }
+        if (!batch.isEmpty())
+            writeBatch(batch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushLastAccess();
+    }
+
+    private void writeBatch(List<Map.Entry<UUID, Long>> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Map.Entry<UUID, Long> entry : batch)
+            args.add(new Object[]{entry.getValue(), MyUtils.uuidBytes(entry.getKey()), entry.getValue()});
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_ACCESS, args);
+        } catch (Exception es) {
+            log.error("Failed to flush {} lastAccess updates, retrying on next flush", batch.size(), es);
+            for (Map.Entry<UUID, Long> entry : batch)
+                pendingLastAccess.merge(entry.getKey(), entry.getValue(), Math::max);
+        }
+    }
+}
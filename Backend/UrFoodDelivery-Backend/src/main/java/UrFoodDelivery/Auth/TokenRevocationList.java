@@ -0,0 +1,114 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Auth;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory denylist of revoked login sessions, checked on every request so access
+ * tokens can be validated without the database. A Bloom filter answers the common
+ * "not revoked" case, hits are confirmed against the exact map. Entries only need
+ * to live as long as the access tokens issued for the session.
+ * <p>
+ * The list is per node and lost on restart. A logout is always final for the refresh
+ * token, which is revoked in the database, but a node that did not see the logout
+ * keeps accepting the session's access token until it expires, which is why
+ * auth.access-token.validity-ms stays short.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final int HASH_FUNCTIONS = 7;
+
+    //~9.6 bits per entry gives a 1% false positive rate with 7 hash functions
+    private static final int BITS_PER_ENTRY = 10;
+
+    @Value("${auth.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    private final Map<UUID, Long> revokedSessions = new ConcurrentHashMap<>();
+
+    private volatile AtomicLongArray bloom;
+
+    private int bitCount;
+
+    @PostConstruct
+    public void init() {
+        bitCount = Math.max(64, expectedEntries * BITS_PER_ENTRY);
+        bloom = new AtomicLongArray(bitCount / 64 + 1);
+    }
+
+    public boolean isRevoked(UUID sessionId) {
+        if (sessionId == null || !mightContain(bloom, sessionId))
+            return false;
+        Long until = revokedSessions.get(sessionId);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * Reject every access token of the session until the given time
+     */
+    public synchronized void revoke(UUID sessionId, long until) {
+        revokedSessions.merge(sessionId, until, Math::max);
+        setBits(bloom, sessionId);
+    }
+
+    /**
+     * Drop expired entries and rebuild the filter, bits cannot be cleared individually
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.sweep-interval-ms:60000}")
+    public synchronized void sweep() {
+        long now = System.currentTimeMillis();
+        if (!revokedSessions.values().removeIf(until -> until <= now))
+            return;
+
+        AtomicLongArray rebuilt = new AtomicLongArray(bloom.length());
+        for (UUID sessionId : revokedSessions.keySet())
+            setBits(rebuilt, sessionId);
+        bloom = rebuilt;
+    }
+
+    private boolean mightContain(AtomicLongArray filter, UUID sessionId) {
+        long hash = hash(sessionId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            int bit = index(h1 + i * h2);
+            if ((filter.get(bit >>> 6) & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    private void setBits(AtomicLongArray filter, UUID sessionId) {
+        long hash = hash(sessionId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            int bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            filter.getAndUpdate(bit >>> 6, word -> word | mask);
+        }
+    }
+
+    private int index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private static long hash(UUID sessionId) {
+        //murmur3 finalizer over both halves of the uuid
+        long h = sessionId.getMostSignificantBits() ^ Long.rotateLeft(sessionId.getLeastSignificantBits(), 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -34,12 +34,21 @@ public class AccountFactory {
     }
 
     public Account createAccount(RegisterAccountModelRequest registerAccountModel,AccountRole accountRole)
+    {
+        return createAccount(registerAccountModel, accountRole, encoder.encode(registerAccountModel.getPassword()));
+    }
+
+    /**
+     * Build an account whose password was already hashed, used by the bulk import
+     */
+    public Account createAccount(RegisterAccountModelRequest registerAccountModel,AccountRole accountRole,String encodedPassword)
     {
         return Account.builder()
                 .username(registerAccountModel.getUsername().trim())
+                .usernameNormalized(Account.normalizeUsername(registerAccountModel.getUsername()))
                 .name(registerAccountModel.getName()) // Set the name
                 .email(registerAccountModel.getEmail())
-                .password(encoder.encode(registerAccountModel.getPassword())) // Encrypt password
+                .password(encodedPassword) // Encrypted password
                 .role(accountRole)
                 .approved(false) // Default approval status
                 .appliedAsVendor(false)
@@ -3,11 +3,15 @@ package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.controller
 
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.Utils.VendorDto;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.Utils.stats.DashboardStats;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.service.AccountImportService;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.service.AdminService;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.settings.AdminSettings;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.AccountRole;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.MyUtils;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.model.ResponseFormatWithObject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,6 +20,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -26,6 +31,9 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private AccountImportService accountImportService;
+
 
 
 
@@ -45,6 +53,18 @@ public class AdminController {
 
 
 
+    /**
+     * Bulk create accounts from a text/csv or application/x-ndjson body, results are streamed back one json line per row
+     */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping(value = "/accounts/import", consumes = {"text/csv", "application/x-ndjson"}, produces = "application/x-ndjson")
+    public void importAccounts(@RequestParam(defaultValue = "ROLE_STUDENT") AccountRole role,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException
+    {
+        accountImportService.importAccounts(role, request, response);
+    }
+
+
     @GetMapping("/settings")
     public ResponseEntity<AdminSettings> getSettings() {
         return adminService.getSettings();
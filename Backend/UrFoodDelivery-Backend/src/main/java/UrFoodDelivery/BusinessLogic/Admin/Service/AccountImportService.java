@@ -0,0 +1,285 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.HashingPasswordEncoder;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.AccountsFactory.AccountFactory;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.Utils.AccountImportResult;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.Utils.AccountImportResult.Status;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.AccountRole;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.models.RegisterAccountModelRequest;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a csv or ndjson upload through in chunks. Every chunk costs one duplicate
+ * query, one parallel hashing pass and one batched insert, and its results are
+ * written back before the next chunk is read, so the file is never held in memory.
+ */
+@Slf4j
+@Service
+public class AccountImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("username", "name", "email", "password");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountFactory accountFactory;
+
+    @Autowired
+    private HashingPasswordEncoder hashingPasswordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${accounts.import.chunk-size:500}")
+    private int chunkSize;
+
+    public void importAccounts(AccountRole role, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (role == AccountRole.ROLE_ADMIN)
+            throw new BadRequestException("Admin accounts can not be imported");
+        boolean csv = request.getContentType() != null && request.getContentType().startsWith("text/csv");
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream output = response.getOutputStream();
+
+        ImportRun run = new ImportRun(role, output);
+        ObjectReader rowReader = objectMapper.readerFor(RegisterAccountModelRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank())
+                    continue;
+
+                if (csv && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+
+                try {
+                    RegisterAccountModelRequest row = csv ? parseCsvRow(line, header) : rowReader.readValue(line);
+                    if (row.getConfirmPassword() == null)
+                        row.setConfirmPassword(row.getPassword());
+                    run.add(new PendingRow(lineNumber, row));
+                } catch (Exception es) {
+                    run.add(new PendingRow(lineNumber, null, new AccountImportResult(lineNumber, null, Status.INVALID, "Could not parse row")));
+                }
+
+                if (run.chunk.size() >= chunkSize)
+                    run.flushChunk();
+            }
+        }
+        run.flushChunk();
+
+        output.write(objectMapper.writeValueAsBytes(run.counts));
+        output.write('\n');
+        output.flush();
+    }
+
+    private Map<String, Integer> parseHeader(String line) throws BadRequestException {
+        List<String> columns = splitCsv(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++)
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        if (!header.keySet().containsAll(CSV_COLUMNS))
+            throw new BadRequestException("Csv header must contain " + String.join(",", CSV_COLUMNS));
+        return header;
+    }
+
+    private RegisterAccountModelRequest parseCsvRow(String line, Map<String, Integer> header) {
+        List<String> fields = splitCsv(line);
+        RegisterAccountModelRequest row = new RegisterAccountModelRequest();
+        row.setUsername(field(fields, header.get("username")));
+        row.setName(field(fields, header.get("name")));
+        row.setEmail(field(fields, header.get("email")));
+        row.setPassword(field(fields, header.get("password")));
+        return row;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : null;
+    }
+
+    /**
+     * Split one csv record, double quoted fields may contain commas and "" escapes
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static final class PendingRow {
+        private final int line;
+        private final RegisterAccountModelRequest request;
+        private AccountImportResult result;
+
+        private PendingRow(int line, RegisterAccountModelRequest request) {
+            this(line, request, null);
+        }
+
+        private PendingRow(int line, RegisterAccountModelRequest request, AccountImportResult result) {
+            this.line = line;
+            this.request = request;
+            this.result = result;
+        }
+
+        private void resolve(Status status, String message) {
+            result = new AccountImportResult(line, request.getUsername(), status, message);
+        }
+    }
+
+    /**
+     * State of one upload, the seen sets catch duplicates between chunks of the same file
+     */
+    private final class ImportRun {
+        private final AccountRole role;
+        private final OutputStream output;
+        private final List<PendingRow> chunk = new ArrayList<>();
+        private final Set<String> seenUsernames = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Map<Status, Integer> counts = new EnumMap<>(Status.class);
+
+        private ImportRun(AccountRole role, OutputStream output) {
+            this.role = role;
+            this.output = output;
+        }
+
+        private void add(PendingRow row) {
+            chunk.add(row);
+        }
+
+        private void flushChunk() throws IOException {
+            if (chunk.isEmpty())
+                return;
+
+            List<PendingRow> candidates = new ArrayList<>();
+            for (PendingRow row : chunk) {
+                if (row.result != null)
+                    continue;
+                String violations = validator.validate(row.request).stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                if (!violations.isEmpty())
+                    row.resolve(Status.INVALID, violations);
+                else if (!seenUsernames.add(Account.normalizeUsername(row.request.getUsername())))
+                    row.resolve(Status.DUPLICATE, "Username repeated in file");
+                else if (!seenEmails.add(row.request.getEmail().toLowerCase(Locale.ROOT)))
+                    row.resolve(Status.DUPLICATE, "Email repeated in file");
+                else
+                    candidates.add(row);
+            }
+
+            if (!candidates.isEmpty())
+                createAccounts(candidates);
+
+            for (PendingRow row : chunk) {
+                counts.merge(row.result.getStatus(), 1, Integer::sum);
+                output.write(objectMapper.writeValueAsBytes(row.result));
+                output.write('\n');
+            }
+            output.flush();
+            chunk.clear();
+        }
+
+        private void createAccounts(List<PendingRow> candidates) {
+            Set<String> usernames = new HashSet<>();
+            Set<String> emails = new HashSet<>();
+            for (PendingRow row : candidates) {
+                usernames.add(Account.normalizeUsername(row.request.getUsername()));
+                emails.add(row.request.getEmail());
+            }
+
+            Set<String> existingUsernames = new HashSet<>();
+            Set<String> existingEmails = new HashSet<>();
+            for (Account existing : accountRepository.findByUsernameNormalizedInOrEmailIn(usernames, emails)) {
+                existingUsernames.add(existing.getUsernameNormalized());
+                if (existing.getEmail() != null)
+                    existingEmails.add(existing.getEmail().toLowerCase(Locale.ROOT));
+            }
+
+            List<PendingRow> toCreate = new ArrayList<>();
+            for (PendingRow row : candidates) {
+                if (existingUsernames.contains(Account.normalizeUsername(row.request.getUsername())))
+                    row.resolve(Status.DUPLICATE, "Username already exists");
+                else if (existingEmails.contains(row.request.getEmail().toLowerCase(Locale.ROOT)))
+                    row.resolve(Status.DUPLICATE, "Email already exists");
+                else
+                    toCreate.add(row);
+            }
+            if (toCreate.isEmpty())
+                return;
+
+            List<String> hashes = hashingPasswordEncoder.encodeAll(
+                    toCreate.stream().map(row -> row.request.getPassword()).toList());
+            List<Account> accounts = new ArrayList<>(toCreate.size());
+            for (int i = 0; i < toCreate.size(); i++)
+                accounts.add(accountFactory.createAccount(toCreate.get(i).request, role, hashes.get(i)));
+
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> accountRepository.saveAll(accounts));
+                toCreate.forEach(row -> row.resolve(Status.CREATED, null));
+            } catch (Exception es) {
+                log.error("Account import chunk of {} rows failed", toCreate.size(), es);
+                toCreate.forEach(row -> row.resolve(Status.FAILED, "Chunk could not be saved, retry these rows"));
+            }
+        }
+    }
+}
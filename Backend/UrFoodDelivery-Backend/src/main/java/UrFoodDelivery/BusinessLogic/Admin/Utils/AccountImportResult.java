@@ -0,0 +1,14 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.Utils;
+
+import lombok.*;
+
+@Data @AllArgsConstructor @NoArgsConstructor
+public class AccountImportResult {
+    public enum Status { CREATED, DUPLICATE, INVALID, FAILED }
+
+    //line number in the uploaded file, the csv header is line 1
+    private int line;
+    private String username;
+    private Status status;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.Utils;
+
+/**
+ * Straight line distance over the earth's surface, computed in process. A route is never
+ * shorter, so it is a safe lower bound to discard points before asking for directions.
+ */
+public class GreatCircle {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    /**
+     * Haversine distance in meters between two points given in degrees
+     */
+    public static double meters(double fromLat, double fromLon, double toLat, double toLon) {
+        double dLat = Math.toRadians(toLat - fromLat);
+        double dLon = Math.toRadians(toLon - fromLon);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(fromLat)) * Math.cos(Math.toRadians(toLat))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -2,11 +2,22 @@ package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Menu.repository;
 
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Menu.entity.MenuFood;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 
 @Repository
 public interface MenuFoodRepository extends JpaRepository<MenuFood, UUID> {
+
+    /**
+     * Food items of a cart together with their menu and vendor, in a single select
+     */
+    @Query("select f from MenuFood f join fetch f.menu m join fetch m.vendor v " +
+            "left join fetch v.vendorLocation left join fetch v.vendorAccount where f.uid in :ids")
+    List<MenuFood> findAllWithVendorByUidIn(@Param("ids") Collection<UUID> ids);
 }
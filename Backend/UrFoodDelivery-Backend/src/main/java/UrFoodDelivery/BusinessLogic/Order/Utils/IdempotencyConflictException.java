@@ -0,0 +1,7 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.Utils;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,10 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.controller;
 
 
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderPage;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderRequest;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service.OrderIdempotencyService;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,26 +21,30 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/api/v1/orders")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = OrderPage.NEXT_CURSOR_HEADER)
 public class OrderController {
 
     private final OrderService orderService;
 
+    private final OrderIdempotencyService orderIdempotencyService;
+
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
-            @Valid @RequestBody OrderRequest orderRequest
+            @Valid @RequestBody OrderRequest orderRequest,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
            ) {
         
-        OrderResponse order = orderService.createOrder(orderRequest);
+        OrderResponse order = orderIdempotencyService.createOrder(idempotencyKey, orderRequest);
         return new ResponseEntity<>(order, HttpStatus.CREATED);
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getUserOrders() {
+    public ResponseEntity<List<OrderResponse>> getUserOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
-        List<OrderResponse> orders = orderService.getUserOrders();
-        return ResponseEntity.ok(orders);
+        return orderService.getUserOrders(cursor, size).toResponseEntity();
     }
 
     @GetMapping("/{orderId}")
@@ -57,10 +63,11 @@ public class OrderController {
     }
 
     @GetMapping("/history")
-    public ResponseEntity<List<OrderResponse>> getOrderHistory() {
+    public ResponseEntity<List<OrderResponse>> getOrderHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
-        List<OrderResponse> orders = orderService.getOrderHistory();
-        return ResponseEntity.ok(orders);
+        return orderService.getOrderHistory(cursor, size).toResponseEntity();
     }
 
     @PutMapping("/{orderId}/status")
@@ -17,7 +17,12 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "all_orders")
+@Table(name = "all_orders", indexes = {
+        @Index(name = "idx_orders_student_created", columnList = "student_uid, createdAt, uid"),
+        @Index(name = "idx_orders_vendor_created", columnList = "vendor_uid, createdAt, uid"),
+        @Index(name = "idx_orders_vendor_status_created", columnList = "vendor_uid, status, createdAt"),
+        @Index(name = "idx_orders_status_vendor", columnList = "status, vendor_uid")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
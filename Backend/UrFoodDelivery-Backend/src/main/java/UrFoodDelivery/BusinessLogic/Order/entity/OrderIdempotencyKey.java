@@ -0,0 +1,45 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Idempotency-Key of an order submission, saved in the same transaction as the order
+ * so a retry after a restart or on another node still finds it.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_order_idempotency_account_key", columnNames = {"accountId", "keyHash"}),
+        indexes = @Index(name = "idx_order_idempotency_created_at", columnList = "createdAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderIdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID uid;
+
+    private UUID accountId;
+
+    //sha-256 of the header value, keeps the index fixed width whatever the client sends
+    @Column(length = 64, columnDefinition = "char(64)")
+    private String keyHash;
+
+    //sha-256 of the request body, the same key with a different body is rejected
+    @Column(length = 64, columnDefinition = "char(64)")
+    private String requestHash;
+
+    private UUID orderId;
+
+    //json of the response the first request got, retries get exactly that back
+    @Column(columnDefinition = "text")
+    private String response;
+
+    private Long createdAt;
+}
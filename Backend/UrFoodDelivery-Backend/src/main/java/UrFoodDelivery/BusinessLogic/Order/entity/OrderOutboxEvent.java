@@ -0,0 +1,48 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Order event waiting to be relayed to Kafka, written in the same transaction as the
+ * order change so an event exists exactly when the change committed.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_order_outbox_published_id", columnList = "publishedAt, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderOutboxEvent {
+
+    //auto increment so the relay reads events in commit order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //sent as a header, consumers drop events they already applied
+    private UUID eventId;
+
+    private UUID orderId;
+
+    private UUID vendorId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderLifecycleEvent.Type eventType;
+
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    private Long createdAt;
+
+    //lease of the relay publishing it, an expired lease lets another poll take it over
+    private Long claimedUntil;
+
+    private Long publishedAt;
+}
@@ -0,0 +1,80 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderItem;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that changed the order, listeners decide whether
+ * they run before or after the commit. Carries the full order state so it is also the
+ * payload of the order-events topic.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLifecycleEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        CANCELLED,
+        PAID,
+        //status set as a side effect of a payment (cash checkout, refund), kept for the
+        //event stream and the counters but nobody is notified about it
+        STATUS_SYNCED
+    }
+
+    private Type type;
+
+    private UUID orderId;
+
+    private UUID studentId;
+
+    private UUID vendorId;
+
+    private OrderStatus status;
+
+    //null for a new order
+    private OrderStatus previousStatus;
+
+    private double total;
+
+    private ZonedDateTime orderCreatedAt;
+
+    private List<Item> items;
+
+    private ZonedDateTime occurredAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private UUID menuFoodId;
+        private String name;
+        private int quantity;
+        private double price;
+    }
+
+    public static OrderLifecycleEvent of(Type type, Order order) {
+        return of(type, order, null);
+    }
+
+    public static OrderLifecycleEvent of(Type type, Order order, OrderStatus previousStatus) {
+        List<Item> items = order.getOrderItems() == null ? List.of() : order.getOrderItems().stream()
+                .map(OrderLifecycleEvent::toItem)
+                .toList();
+        return new OrderLifecycleEvent(type, order.getUid(), order.getStudent().getUid(), order.getVendor().getUid(),
+                order.getStatus(), previousStatus, order.getTotal(), order.getCreatedAt(), items, ZonedDateTime.now());
+    }
+
+    private static Item toItem(OrderItem item) {
+        return new Item(item.getMenuFood().getUid(), item.getMenuFood().getName(), item.getQuantity(), item.getPrice());
+    }
+}
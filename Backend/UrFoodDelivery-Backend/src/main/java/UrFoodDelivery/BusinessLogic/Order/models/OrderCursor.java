@@ -0,0 +1,52 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import org.apache.coyote.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in an order listing sorted by createdAt desc, uid desc. The token is opaque to
+ * clients and stays valid when newer orders are inserted in front of it.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderCursor {
+
+    private final ZonedDateTime createdAt;
+
+    private final UUID uid;
+
+    public static OrderCursor after(OrderResponse order) {
+        return new OrderCursor(order.getCreatedAt(), order.getUid());
+    }
+
+    public String encode() {
+        Instant instant = createdAt.toInstant();
+        String raw = instant.getEpochSecond() + ":" + instant.getNano() + ":" + uid;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Null for the first page
+     */
+    @SneakyThrows
+    public static OrderCursor decode(String token) {
+        if (token == null || token.isBlank())
+            return null;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new OrderCursor(ZonedDateTime.ofInstant(instant, ZoneId.systemDefault()), UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Menu.entity.MenuFood;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderItem;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+public class OrderItemResponse {
+
+    //groups the rows of a page back to their orders
+    @JsonIgnore
+    private UUID orderUid;
+
+    private UUID uid;
+
+    private MenuFoodSummary menuFood;
+
+    private int quantity;
+
+    private double price;
+
+    /**
+     * Used by the constructor expression in OrderItemRepository
+     */
+    public OrderItemResponse(UUID orderUid, UUID uid, Integer quantity, Double price,
+                             UUID menuFoodUid, String name, String description, Double menuFoodPrice,
+                             String category, Boolean available, ZonedDateTime createdOn) {
+        this.orderUid = orderUid;
+        this.uid = uid;
+        this.quantity = quantity == null ? 0 : quantity;
+        this.price = price == null ? 0 : price;
+        this.menuFood = new MenuFoodSummary(menuFoodUid, name, description,
+                menuFoodPrice == null ? 0 : menuFoodPrice, category, Boolean.TRUE.equals(available), createdOn);
+    }
+
+    public static OrderItemResponse from(OrderItem item) {
+        OrderItemResponse response = new OrderItemResponse();
+        response.setUid(item.getUid());
+        response.setQuantity(item.getQuantity());
+        response.setPrice(item.getPrice());
+        MenuFood food = item.getMenuFood();
+        if (food != null)
+            response.setMenuFood(new MenuFoodSummary(food.getUid(), food.getName(), food.getDescription(),
+                    food.getPrice(), food.getCategory(), food.isAvailable(), food.getCreatedOn()));
+        return response;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MenuFoodSummary {
+        private UUID uid;
+        private String name;
+        private String description;
+        private double price;
+        private String category;
+        private boolean available;
+        private ZonedDateTime createdOn;
+    }
+}
@@ -0,0 +1,40 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * One page of orders, the body stays a plain list and the cursor of the next page is
+ * sent in the X-Next-Cursor header.
+ */
+@Data
+@AllArgsConstructor
+public class OrderPage {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<OrderResponse> orders;
+
+    //null on the last page
+    private String nextCursor;
+
+    /**
+     * Build a page from a query that fetched one row more than the page size
+     */
+    public static OrderPage of(List<OrderResponse> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<OrderResponse> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? OrderCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new OrderPage(page, nextCursor);
+    }
+
+    public ResponseEntity<List<OrderResponse>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null)
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        return builder.body(orders);
+    }
+}
@@ -0,0 +1,61 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.entity.Payment;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.entity.enums.PaymentMethod;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.entity.enums.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+public class OrderPaymentResponse {
+
+    //groups the rows of a page back to their orders
+    @JsonIgnore
+    private UUID orderUid;
+
+    private UUID uid;
+
+    private double amount;
+
+    private String currency;
+
+    private PaymentMethod paymentMethod;
+
+    private PaymentStatus status;
+
+    private String transactionId;
+
+    private ZonedDateTime createdAt;
+
+    /**
+     * Used by the constructor expression in PaymentRepository
+     */
+    public OrderPaymentResponse(UUID orderUid, UUID uid, Double amount, String currency, PaymentMethod paymentMethod,
+                                PaymentStatus status, String transactionId, ZonedDateTime createdAt) {
+        this.orderUid = orderUid;
+        this.uid = uid;
+        this.amount = amount == null ? 0 : amount;
+        this.currency = currency;
+        this.paymentMethod = paymentMethod;
+        this.status = status;
+        this.transactionId = transactionId;
+        this.createdAt = createdAt;
+    }
+
+    public static OrderPaymentResponse from(Payment payment) {
+        OrderPaymentResponse response = new OrderPaymentResponse();
+        response.setUid(payment.getUid());
+        response.setAmount(payment.getAmount());
+        response.setCurrency(payment.getCurrency());
+        response.setPaymentMethod(payment.getPaymentMethod());
+        response.setStatus(payment.getStatus());
+        response.setTransactionId(payment.getTransactionId());
+        response.setCreatedAt(payment.getCreatedAt());
+        return response;
+    }
+}
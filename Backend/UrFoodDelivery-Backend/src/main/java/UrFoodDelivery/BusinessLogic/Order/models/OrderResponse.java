@@ -1,13 +1,158 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models;
 
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.Utils.Location;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.DeliveryType;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.entity.VendorLocation;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Read model of an order, only the fields the ui shows. List endpoints fill it from a
+ * projection query, items and payments are attached with one query each per page.
+ */
 @Data
-public class OrderResponse extends Order {
+@NoArgsConstructor
+public class OrderResponse {
 
+    private UUID uid;
+
+    private StudentSummary student;
+
+    private VendorSummary vendor;
+
+    private List<OrderItemResponse> orderItems = new ArrayList<>();
+
+    private DeliveryType deliveryType;
+
+    private Location deliveryLocation;
+
+    private OrderStatus status;
+
+    private String specialInstructions;
+
+    private double subtotal;
+
+    private double deliveryFee;
+
+    private double tax;
+
+    private double total;
+
+    private String estimatedTime;
+
+    private ZonedDateTime createdAt;
+
+    private ZonedDateTime updatedAt;
+
+    private ZonedDateTime completedAt;
+
+    private List<OrderPaymentResponse> payments = new ArrayList<>();
+
+    /**
+     * Used by the constructor expression in OrderRepository
+     */
+    public OrderResponse(UUID uid, OrderStatus status, DeliveryType deliveryType,
+                         Double deliveryLatitude, Double deliveryLongitude, String specialInstructions,
+                         Double subtotal, Double deliveryFee, Double tax, Double total, String estimatedTime,
+                         ZonedDateTime createdAt, ZonedDateTime updatedAt, ZonedDateTime completedAt,
+                         UUID studentUid, String studentName, String studentEmail, String studentUsername,
+                         UUID vendorUid, Double vendorRating,
+                         String restaurantName, String address, String phone) {
+        this.uid = uid;
+        this.status = status;
+        this.deliveryType = deliveryType;
+        if (deliveryLatitude != null && deliveryLongitude != null) {
+            this.deliveryLocation = new Location();
+            this.deliveryLocation.setLatitude(deliveryLatitude);
+            this.deliveryLocation.setLongitude(deliveryLongitude);
+        }
+        this.specialInstructions = specialInstructions;
+        this.subtotal = subtotal == null ? 0 : subtotal;
+        this.deliveryFee = deliveryFee == null ? 0 : deliveryFee;
+        this.tax = tax == null ? 0 : tax;
+        this.total = total == null ? 0 : total;
+        this.estimatedTime = estimatedTime;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+        this.student = new StudentSummary(studentUid, studentName, studentEmail, studentUsername);
+        this.vendor = new VendorSummary(vendorUid, vendorRating == null ? 0 : vendorRating,
+                new VendorLocationSummary(restaurantName, address, phone));
+    }
+
+    /**
+     * Map an order that is already loaded, e.g. right after it was saved
+     */
+    public static OrderResponse from(Order order) {
+        OrderResponse response = new OrderResponse();
+        response.setUid(order.getUid());
+        response.setStatus(order.getStatus());
+        response.setDeliveryType(order.getDeliveryType());
+        response.setDeliveryLocation(order.getDeliveryLocation());
+        response.setSpecialInstructions(order.getSpecialInstructions());
+        response.setSubtotal(order.getSubtotal());
+        response.setDeliveryFee(order.getDeliveryFee());
+        response.setTax(order.getTax());
+        response.setTotal(order.getTotal());
+        response.setEstimatedTime(order.getEstimatedTime());
+        response.setCreatedAt(order.getCreatedAt());
+        response.setUpdatedAt(order.getUpdatedAt());
+        response.setCompletedAt(order.getCompletedAt());
+
+        Account student = order.getStudent();
+        if (student != null)
+            response.setStudent(new StudentSummary(student.getUid(), student.getName(), student.getEmail(), student.getUsername()));
+
+        Vendor vendor = order.getVendor();
+        if (vendor != null) {
+            VendorLocation location = vendor.getVendorLocation();
+            response.setVendor(new VendorSummary(vendor.getUid(), vendor.getRating(), location == null
+                    ? new VendorLocationSummary(null, null, null)
+                    : new VendorLocationSummary(location.getRestaurantName(), location.getAddress(), location.getPhone())));
+        }
+
+        if (order.getOrderItems() != null)
+            order.getOrderItems().forEach(item -> response.getOrderItems().add(OrderItemResponse.from(item)));
+        if (order.getPayments() != null)
+            order.getPayments().forEach(payment -> response.getPayments().add(OrderPaymentResponse.from(payment)));
+        return response;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StudentSummary {
+        private UUID uid;
+        private String name;
+        private String email;
+        private String username;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VendorSummary {
+        private UUID uid;
+        private double rating;
+        private VendorLocationSummary vendorLocation;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VendorLocationSummary {
+        private String restaurantName;
+        private String address;
+        private String phone;
+    }
 }
@@ -0,0 +1,14 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, UUID> {
+
+    Optional<OrderIdempotencyKey> findByAccountIdAndKeyHash(UUID accountId, String keyHash);
+}
@@ -0,0 +1,24 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderItem;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderItemResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
+
+    /**
+     * Items of a whole page of orders with their food, as read models
+     */
+    @Query("select new com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderItemResponse(" +
+            "i.order.uid, i.uid, i.quantity, i.price, f.uid, f.name, f.description, f.price, f.category, f.available, f.createdOn) " +
+            "from OrderItem i join i.menuFood f where i.order.uid in :orderUids")
+    List<OrderItemResponse> findResponsesByOrderUidIn(@Param("orderUids") Collection<UUID> orderUids);
+}
@@ -0,0 +1,32 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxEventRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    /**
+     * Oldest unpublished events nobody holds a lease on, rows locked by another relay are
+     * skipped so several nodes can claim at the same time without taking the same event
+     */
+    @Query(value = "select * from order_outbox_event where published_at is null " +
+            "and (claimed_until is null or claimed_until < :now) order by id limit :limit for update skip locked",
+            nativeQuery = true)
+    List<OrderOutboxEvent> lockClaimable(@Param("now") long now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update OrderOutboxEvent e set e.claimedUntil = :claimedUntil where e.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") Long claimedUntil);
+
+    @Modifying
+    @Query("update OrderOutboxEvent e set e.publishedAt = :publishedAt, e.claimedUntil = null where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Long publishedAt);
+}
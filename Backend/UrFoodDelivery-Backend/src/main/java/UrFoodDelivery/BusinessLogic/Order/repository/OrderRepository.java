@@ -3,30 +3,89 @@ package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository
 
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.OrderStatusTotals;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorStatusCount;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
-    List<Order> findByStudentUidOrderByCreatedAtDesc(UUID userId);
-    List<Order> findByStudentUidAndStatusInOrderByCreatedAtDesc(UUID userId, List<OrderStatus> statuses);
 
-    List<Order> findByVendorAndStatusInOrderByCreatedAtDesc(Vendor vendor, List<OrderStatus> activeStatuses);
+    //flat read model of an order with its student and vendor, one row per order and no lazy loads
+    String ORDER_RESPONSE_SELECT = "select new com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse(" +
+            "o.uid, o.status, o.deliveryType, o.deliveryLocation.latitude, o.deliveryLocation.longitude, o.specialInstructions, " +
+            "o.subtotal, o.deliveryFee, o.tax, o.total, o.estimatedTime, o.createdAt, o.updatedAt, o.completedAt, " +
+            "s.uid, s.name, s.email, s.username, v.uid, v.rating, l.restaurantName, l.address, l.phone) " +
+            "from Order o join o.student s join o.vendor v left join v.vendorLocation l ";
 
-    List<Order> findByVendorAndStatus(Vendor vendor, OrderStatus orderStatus);
+    /**
+     * Keyset page of a student's orders, newest first. Pass a null cursor for the first page
+     * and Limit.unlimited() for a full listing.
+     */
+    @Query(ORDER_RESPONSE_SELECT + "where s.uid = :studentUid and o.status in :statuses " +
+            "and (:cursorCreatedAt is null or o.createdAt < :cursorCreatedAt " +
+            "or (o.createdAt = :cursorCreatedAt and o.uid < :cursorUid)) " +
+            "order by o.createdAt desc, o.uid desc")
+    List<OrderResponse> findStudentOrdersPage(@Param("studentUid") UUID studentUid,
+                                              @Param("statuses") Collection<OrderStatus> statuses,
+                                              @Param("cursorCreatedAt") ZonedDateTime cursorCreatedAt,
+                                              @Param("cursorUid") UUID cursorUid,
+                                              Limit limit);
 
-    List<Order> findByVendorOrderByCreatedAtDesc(Vendor vendor);
+    /**
+     * Keyset page of a vendor's orders, newest first, optionally inside (from, to)
+     */
+    @Query(ORDER_RESPONSE_SELECT + "where v.uid = :vendorUid and o.status in :statuses " +
+            "and (:from is null or o.createdAt > :from) and (:to is null or o.createdAt < :to) " +
+            "and (:cursorCreatedAt is null or o.createdAt < :cursorCreatedAt " +
+            "or (o.createdAt = :cursorCreatedAt and o.uid < :cursorUid)) " +
+            "order by o.createdAt desc, o.uid desc")
+    List<OrderResponse> findVendorOrdersPage(@Param("vendorUid") UUID vendorUid,
+                                             @Param("statuses") Collection<OrderStatus> statuses,
+                                             @Param("from") ZonedDateTime from,
+                                             @Param("to") ZonedDateTime to,
+                                             @Param("cursorCreatedAt") ZonedDateTime cursorCreatedAt,
+                                             @Param("cursorUid") UUID cursorUid,
+                                             Limit limit);
 
-    List<Order> findByVendorAndCreatedAtBetween(Vendor vendor, ZonedDateTime startDate, ZonedDateTime endDate);
+    @Query(ORDER_RESPONSE_SELECT + "where o.uid = :uid")
+    Optional<OrderResponse> findResponseById(@Param("uid") UUID uid);
+
+    /**
+     * Order count and value per status of a vendor's orders in the given statuses created
+     * in [from, to)
+     */
+    @Query("select new com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.OrderStatusTotals(" +
+            "o.status, count(o), sum(o.total)) from Order o " +
+            "where o.vendor.uid = :vendorUid and o.status in :statuses and o.createdAt >= :from and o.createdAt < :to " +
+            "group by o.status")
+    List<OrderStatusTotals> sumByStatus(@Param("vendorUid") UUID vendorUid,
+                                        @Param("statuses") Collection<OrderStatus> statuses,
+                                        @Param("from") ZonedDateTime from,
+                                        @Param("to") ZonedDateTime to);
+
+    /**
+     * Order count per vendor and status over all vendors, for the orders in the given statuses
+     */
+    @Query("select new com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorStatusCount(" +
+            "o.vendor.uid, o.status, count(o)) from Order o " +
+            "where o.status in :statuses group by o.vendor.uid, o.status")
+    List<VendorStatusCount> countPerVendorAndStatus(@Param("statuses") Collection<OrderStatus> statuses);
 
     long countByVendorAndStatus(Vendor vendor, OrderStatus orderStatus);
 
-    Number countByVendorAndCreatedAtBetween(Vendor vendor, ZonedDateTime today, ZonedDateTime now);
+    long countByVendorAndStatusIn(Vendor vendor, Collection<OrderStatus> statuses);
 
 
 
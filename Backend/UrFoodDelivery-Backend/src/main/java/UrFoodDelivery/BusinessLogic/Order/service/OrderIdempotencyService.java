@@ -0,0 +1,200 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.Utils.IdempotencyConflictException;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderIdempotencyKey;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderRequest;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderIdempotencyKeyRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Service.AccountService;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.MyUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Makes order submission safe to retry. The first request with a given Idempotency-Key
+ * creates the order, concurrent duplicates wait for it and later retries are answered
+ * from memory, or from the durable key table once the memory entry expired.
+ * <p>
+ * A retry gets the response of the original request, not the order as it is now, so a
+ * client that lost the first response sees what it would have seen. The current state
+ * is what GET /orders/{id} is for. Keys stored before responses were kept fall back to
+ * the current state.
+ */
+@Slf4j
+@Service
+public class OrderIdempotencyService {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${orders.idempotency.memory-ttl-ms:600000}")
+    private long memoryTtl;
+
+    @Value("${orders.idempotency.retention-ms:86400000}")
+    private long retention;
+
+    @Value("${orders.idempotency.wait-timeout-ms:10000}")
+    private long waitTimeout;
+
+    private final Map<String, Submission> submissions = new ConcurrentHashMap<>();
+
+    public OrderResponse createOrder(String idempotencyKey, OrderRequest request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank())
+            return orderService.createOrder(request);
+
+        UUID accountId = accountService.currentAccountUid();
+        String keyHash = MyUtils.sha256Hex(idempotencyKey.trim());
+        String requestHash = requestHash(request);
+        String memoryKey = accountId + ":" + keyHash;
+
+        Submission submission = new Submission(requestHash, System.currentTimeMillis() + memoryTtl);
+        Submission existing = submissions.putIfAbsent(memoryKey, submission);
+        if (existing != null && existing.expiresAt <= System.currentTimeMillis()
+                && submissions.replace(memoryKey, existing, submission))
+            existing = null;
+
+        if (existing != null) {
+            checkSameRequest(existing.requestHash, requestHash);
+            return await(existing.response);
+        }
+
+        try {
+            OrderResponse response = createOnce(accountId, keyHash, requestHash, request);
+            submission.response.complete(response);
+            return response;
+        } catch (RuntimeException es) {
+            //let a retry run the order again, waiters get the same error
+            submissions.remove(memoryKey, submission);
+            submission.response.completeExceptionally(es);
+            throw es;
+        }
+    }
+
+    private OrderResponse createOnce(UUID accountId, String keyHash, String requestHash, OrderRequest request) {
+        Optional<OrderIdempotencyKey> stored = orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(accountId, keyHash);
+        if (stored.isPresent()) {
+            checkSameRequest(stored.get().getRequestHash(), requestHash);
+            return storedResponse(stored.get());
+        }
+
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                UUID orderId = orderService.createOrder(request).getUid();
+                //same shape as GET /orders/{id}, with items and payments
+                OrderResponse response = orderService.getOrderById(orderId);
+                orderIdempotencyKeyRepository.saveAndFlush(OrderIdempotencyKey.builder()
+                        .accountId(accountId)
+                        .keyHash(keyHash)
+                        .requestHash(requestHash)
+                        .orderId(orderId)
+                        .response(toJson(response))
+                        .createdAt(System.currentTimeMillis())
+                        .build());
+                return response;
+            });
+        } catch (DataIntegrityViolationException es) {
+            //another node committed the same key first, our order was rolled back with the key
+            OrderIdempotencyKey winner = orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(accountId, keyHash)
+                    .orElseThrow(() -> es);
+            checkSameRequest(winner.getRequestHash(), requestHash);
+            return storedResponse(winner);
+        }
+    }
+
+    private OrderResponse storedResponse(OrderIdempotencyKey key) {
+        if (key.getResponse() == null)
+            return orderService.getOrderById(key.getOrderId());
+        try {
+            return objectMapper.readValue(key.getResponse(), OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored order response can not be read", e);
+        }
+    }
+
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Order response can not be stored", e);
+        }
+    }
+
+    private OrderResponse await(CompletableFuture<OrderResponse> response) {
+        try {
+            return response.get(waitTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("The original request is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void checkSameRequest(String expected, String actual) {
+        if (!expected.equals(actual))
+            throw new IdempotencyConflictException("Idempotency-Key was already used for a different order");
+    }
+
+    private String requestHash(OrderRequest request) {
+        try {
+            return MyUtils.sha256Hex(objectMapper.writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid order request", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        submissions.values().removeIf(submission -> submission.expiresAt <= now && submission.response.isDone());
+
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("delete from order_idempotency_key where created_at < ? limit 500", now - retention);
+        } while (deleted == 500);
+    }
+
+    private static final class Submission {
+        private final String requestHash;
+        private final long expiresAt;
+        private final CompletableFuture<OrderResponse> response = new CompletableFuture<>();
+
+        private Submission(String requestHash, long expiresAt) {
+            this.requestHash = requestHash;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
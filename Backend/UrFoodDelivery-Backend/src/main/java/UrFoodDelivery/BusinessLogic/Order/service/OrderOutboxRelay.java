@@ -0,0 +1,236 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderOutboxEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderOutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relays outbox rows to the order-events topic in id order. The record key is the order
+ * id so compaction keeps the latest event of each order, the partition is picked from
+ * the vendor id so every event of a vendor is read in order.
+ * <p>
+ * A poll claims a batch with a lease in one short transaction, sends it with no
+ * transaction open and marks what the broker acknowledged in a second one. Nothing of
+ * the batch is lost when a send fails or the node dies, the unacknowledged rows are
+ * released or their lease runs out and they are sent again with the same event-id
+ * header for consumers to drop. A failed event whose order already has a later event
+ * acknowledged in the batch is marked published instead, every payload carries the whole
+ * order so resending it would only put a stale state after the newer one. Across
+ * batches, or between nodes, a resent event can still land after a later event of its
+ * order, consumers compare occurredAt when that matters.
+ * <p>
+ * Off unless orders.outbox.relay.enabled is set, since it needs a broker.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.outbox.relay.enabled", havingValue = "true")
+public class OrderOutboxRelay {
+
+    public static final String EVENT_ID_HEADER = "event-id";
+
+    public static final String EVENT_TYPE_HEADER = "event-type";
+
+    private static final String DELETE_PUBLISHED =
+            "delete from order_outbox_event where published_at < ? limit ?";
+
+    @Autowired
+    private OrderOutboxEventRepository outboxRepository;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orders.events.topic:order-events}")
+    private String topic;
+
+    @Value("${orders.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${orders.outbox.send-timeout-ms:10000}")
+    private long sendTimeout;
+
+    //longer than the producer's max.block.ms plus the send timeout
+    @Value("${orders.outbox.claim-ms:60000}")
+    private long claimDuration;
+
+    @Value("${orders.outbox.retention-ms:86400000}")
+    private long retention;
+
+    @Value("${orders.outbox.purge-chunk-size:1000}")
+    private int purgeChunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Counter published;
+
+    private Counter failed;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        published = Counter.builder("orders.outbox.published").register(meterRegistry);
+        failed = Counter.builder("orders.outbox.failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (Exception es) {
+            log.error("Order outbox relay failed, retrying on next poll", es);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.purge-interval-ms:3600000}",
+            initialDelayString = "${orders.outbox.purge-initial-delay-ms:60000}")
+    public void purgePublished() {
+        long before = System.currentTimeMillis() - retention;
+        int total = 0;
+        int deleted;
+        try {
+            do {
+                deleted = jdbcTemplate.update(DELETE_PUBLISHED, before, purgeChunkSize);
+                total += deleted;
+            } while (deleted == purgeChunkSize);
+        } catch (Exception es) {
+            log.error("Order outbox purge failed, continuing on next run", es);
+        }
+        if (total > 0)
+            log.info("Purged {} published order outbox events", total);
+    }
+
+    /**
+     * One claim, send, mark round, returns the number of events acknowledged
+     */
+    int relayBatch() {
+        List<OrderOutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events == null || events.isEmpty())
+            return 0;
+
+        List<Long> acknowledged = new ArrayList<>(events.size());
+        List<OrderOutboxEvent> unsent = new ArrayList<>();
+        try {
+            send(events, acknowledged, unsent);
+        } catch (RuntimeException e) {
+            //nothing went out, metadata or the producer itself failed
+            failed.increment(events.size());
+            release(events.stream().map(OrderOutboxEvent::getId).toList());
+            throw e;
+        }
+
+        List<Long> done = new ArrayList<>(acknowledged);
+        List<Long> retry = new ArrayList<>();
+        for (OrderOutboxEvent event : unsent) {
+            if (supersededInBatch(event, events, acknowledged))
+                done.add(event.getId());
+            else
+                retry.add(event.getId());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!done.isEmpty())
+                outboxRepository.markPublished(done, System.currentTimeMillis());
+            //picked up again first on the next poll instead of waiting for the lease
+            if (!retry.isEmpty())
+                outboxRepository.claim(retry, null);
+        });
+        published.increment(acknowledged.size());
+        return acknowledged.size();
+    }
+
+    private List<OrderOutboxEvent> claimBatch() {
+        long now = System.currentTimeMillis();
+        List<OrderOutboxEvent> events = outboxRepository.lockClaimable(now, batchSize);
+        if (!events.isEmpty())
+            outboxRepository.claim(events.stream().map(OrderOutboxEvent::getId).toList(), now + claimDuration);
+        return events;
+    }
+
+    private void send(List<OrderOutboxEvent> events, List<Long> acknowledged, List<OrderOutboxEvent> unsent) {
+        int partitions = kafkaTemplate.partitionsFor(topic).size();
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        for (OrderOutboxEvent event : events)
+            sends.add(kafkaTemplate.send(toRecord(event, partitions)));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeout);
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(events.get(i).getId());
+            } catch (ExecutionException | TimeoutException e) {
+                failed.increment();
+                log.warn("Could not relay order outbox event {}", events.get(i).getId(), e);
+                unsent.add(events.get(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unsent.addAll(events.subList(i, events.size()));
+                return;
+            }
+        }
+    }
+
+    //a later event of the same order went out, it carries the newer state
+    private boolean supersededInBatch(OrderOutboxEvent event, List<OrderOutboxEvent> batch, List<Long> acknowledged) {
+        for (OrderOutboxEvent other : batch)
+            if (other.getId() > event.getId() && other.getOrderId().equals(event.getOrderId())
+                    && acknowledged.contains(other.getId()))
+                return true;
+        return false;
+    }
+
+    private void release(List<Long> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.claim(ids, null));
+        } catch (Exception e) {
+            log.warn("Could not release order outbox claims, they expire on their own", e);
+        }
+    }
+
+    private ProducerRecord<String, String> toRecord(OrderOutboxEvent event, int partitions) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, partitionFor(event.getVendorId(), partitions),
+                event.getCreatedAt(), event.getOrderId().toString(), event.getPayload());
+        record.headers().add(EVENT_ID_HEADER, event.getEventId().toString().getBytes(StandardCharsets.UTF_8));
+        record.headers().add(EVENT_TYPE_HEADER, event.getEventType().name().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    //same hash as the default partitioner, applied to the vendor instead of the record key
+    private int partitionFor(UUID vendorId, int partitions) {
+        return Utils.toPositive(Utils.murmur2(vendorId.toString().getBytes(StandardCharsets.UTF_8))) % partitions;
+    }
+}
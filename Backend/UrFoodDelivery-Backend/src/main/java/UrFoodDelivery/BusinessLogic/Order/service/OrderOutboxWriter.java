@@ -0,0 +1,45 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderOutboxEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderOutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Writes every order event to the outbox inside the publishing transaction, if the
+ * order change rolls back the event goes with it. Only written while the relay is on,
+ * nothing would drain the table otherwise.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.relay.enabled", havingValue = "true")
+public class OrderOutboxWriter {
+
+    @Autowired
+    private OrderOutboxEventRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SneakyThrows
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        outboxRepository.save(OrderOutboxEvent.builder()
+                .eventId(UUID.randomUUID())
+                .orderId(event.getOrderId())
+                .vendorId(event.getVendorId())
+                .eventType(event.getType())
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(System.currentTimeMillis())
+                .build());
+    }
+}
@@ -0,0 +1,54 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderCursor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderPage;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset paging shared by the student and vendor order listings. Every request gets one
+ * bounded page, a missing size means orders.page.default-size.
+ */
+@Component
+public class OrderPager {
+
+    @Autowired
+    private OrderResponseAssembler orderResponseAssembler;
+
+    @Value("${orders.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${orders.page.max-size:200}")
+    private int maxPageSize;
+
+    public OrderPage page(String cursor, Integer size, PageQuery query) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        OrderCursor after = OrderCursor.decode(cursor);
+
+        //one extra row tells whether there is a next page
+        List<OrderResponse> orders = query.fetch(
+                after == null ? null : after.getCreatedAt(),
+                after == null ? null : after.getUid(),
+                Limit.of(pageSize + 1));
+
+        OrderPage page = OrderPage.of(orders, pageSize);
+        orderResponseAssembler.attachDetails(page.getOrders());
+        return page;
+    }
+
+    /**
+     * A listing query sorted by createdAt desc, uid desc that starts after the cursor
+     * position, both null for the first page
+     */
+    @FunctionalInterface
+    public interface PageQuery {
+        List<OrderResponse> fetch(ZonedDateTime cursorCreatedAt, UUID cursorUid, Limit limit);
+    }
+}
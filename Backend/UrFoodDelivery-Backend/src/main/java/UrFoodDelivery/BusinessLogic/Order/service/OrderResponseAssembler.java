@@ -0,0 +1,45 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderItemResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderPaymentResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderItemRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.repository.PaymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Attaches items and payments to order read models, one query each no matter how many
+ * orders are on the page
+ */
+@Component
+public class OrderResponseAssembler {
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    public List<OrderResponse> attachDetails(List<OrderResponse> orders) {
+        if (orders.isEmpty())
+            return orders;
+
+        Map<UUID, OrderResponse> byUid = orders.stream()
+                .collect(Collectors.toMap(OrderResponse::getUid, Function.identity()));
+
+        for (OrderItemResponse item : orderItemRepository.findResponsesByOrderUidIn(byUid.keySet()))
+            byUid.get(item.getOrderUid()).getOrderItems().add(item);
+
+        for (OrderPaymentResponse payment : paymentRepository.findResponsesByOrderUidIn(byUid.keySet()))
+            byUid.get(payment.getOrderUid()).getPayments().add(payment);
+
+        return orders;
+    }
+}
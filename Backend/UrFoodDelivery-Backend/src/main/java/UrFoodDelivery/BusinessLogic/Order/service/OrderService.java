@@ -8,25 +8,27 @@ import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Orde
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderItem;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.DeliveryType;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderPage;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderRequest;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Service.AccountService;
-import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.WebSocket.service.WebSocketService;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.common.errors.ResourceNotFoundException;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,11 +42,17 @@ public class OrderService {
     @Autowired
     private MenuFoodRepository foodItemRepository;
     @Autowired
-    private WebSocketService webSocketService;
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private OrderResponseAssembler orderResponseAssembler;
+
+    @Autowired
+    private OrderPager orderPager;
+
     @Transactional
     public OrderResponse createOrder(OrderRequest request) {
         Account user = accountService.currentAccount();
@@ -58,13 +66,35 @@ public class OrderService {
         order.setStatus(OrderStatus.PENDING);
         order.setCreatedAt(ZonedDateTime.now());
 
+        // Resolve every food item of the cart, with its menu and vendor, in one query
+        Set<UUID> foodItemIds = request.getItems().stream()
+                .map(OrderRequest.OrderItemRequest::getFoodItemId)
+                .collect(Collectors.toSet());
+        Map<UUID, MenuFood> foodItems = foodItemRepository.findAllWithVendorByUidIn(foodItemIds).stream()
+                .collect(Collectors.toMap(MenuFood::getUid, Function.identity()));
+
+        Vendor vendor = null;
+        for (UUID foodItemId : foodItemIds) {
+            MenuFood foodItem = foodItems.get(foodItemId);
+            if (foodItem == null)
+                throw new ResourceNotFoundException("Food item not found");
+            if (!foodItem.isAvailable())
+                throw new IllegalStateException(foodItem.getName() + " is not available right now");
+
+            Vendor itemVendor = foodItem.getMenu().getVendor();
+            if (vendor == null)
+                vendor = itemVendor;
+            else if (!vendor.getUid().equals(itemVendor.getUid()))
+                throw new IllegalStateException("All items of an order must be from the same vendor");
+        }
+
         // Calculate total
         double subtotal = 0.0;
 
-        // Create order items
+        // Create order items, inserted as one jdbc batch when the order is saved
+        order.setOrderItems(new ArrayList<>(request.getItems().size()));
         for (OrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-            MenuFood foodItem = foodItemRepository.findById(itemRequest.getFoodItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Food item not found"));
+            MenuFood foodItem = foodItems.get(itemRequest.getFoodItemId());
 
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
@@ -72,20 +102,13 @@ public class OrderService {
             orderItem.setQuantity(itemRequest.getQuantity());
             orderItem.setPrice(foodItem.getPrice());
 
-            try {
-                if(order.getOrderItems()==null)
-                    order.setOrderItems(new ArrayList<>());
-                order.getOrderItems().add(orderItem);
-            }catch (Exception es){}
+            order.getOrderItems().add(orderItem);
 
             subtotal = subtotal+foodItem.getPrice()
                     *(itemRequest.getQuantity());
         }
 
-        // Get vendor from first item (assuming all items from same vendor)
-        if (!order.getOrderItems().isEmpty()) {
-            order.setVendor(order.getOrderItems().get(0).getMenuFood().getMenu().getVendor());
-        }
+        order.setVendor(vendor);
 
         // Calculate fees and total
         double deliveryFee = order.getDeliveryType() == DeliveryType.DELIVERY
@@ -104,37 +127,34 @@ public class OrderService {
 
         order = orderRepository.save(order);
 
-        // Send WebSocket notification to vendor
-        webSocketService.sendOrderNotification(order.getVendor().getUid(),
-                "New order received: #" + order.getUid());
+        // Vendor is notified once the order is committed
+        eventPublisher.publishEvent(OrderLifecycleEvent.of(OrderLifecycleEvent.Type.CREATED, order));
 
-        return mapToResponse(order);
+        return OrderResponse.from(order);
     }
 
-    public List<OrderResponse> getUserOrders() {
-        Account user = accountService.currentAccount();
+    public OrderPage getUserOrders(String cursor, Integer size) {
+        UUID studentUid = accountService.currentAccountUid();
 
-        List<Order> orders = orderRepository.findByStudentUidOrderByCreatedAtDesc(user.getUid());
-        return orders.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return findStudentOrdersPage(studentUid, List.of(OrderStatus.values()), cursor, size);
     }
 
     public OrderResponse getOrderById(UUID orderId) {
-        Account user = accountService.currentAccount();
+        UUID studentUid = accountService.currentAccountUid();
 
-        Order order = orderRepository.findById(orderId)
+        OrderResponse order = orderRepository.findResponseById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
-        if (!order.getStudent().getUid().equals(user.getUid())) {
+        if (!order.getStudent().getUid().equals(studentUid)) {
             throw new UnauthorizedException("You don't have permission to view this order");
         }
 
-        return mapToResponse(order);
+        orderResponseAssembler.attachDetails(List.of(order));
+        return order;
     }
 
     public List<OrderResponse> getActiveOrders() {
-        Account user = accountService.currentAccount();
+        UUID studentUid = accountService.currentAccountUid();
 
         List<OrderStatus> activeStatuses = List.of(
                 OrderStatus.PENDING,
@@ -144,28 +164,26 @@ public class OrderService {
                 OrderStatus.OUT_FOR_DELIVERY
         );
 
-        List<Order> orders = orderRepository.findByStudentUidAndStatusInOrderByCreatedAtDesc(
-                user.getUid(), activeStatuses);
+        List<OrderResponse> orders = orderRepository.findStudentOrdersPage(
+                studentUid, activeStatuses, null, null, Limit.unlimited());
 
-        return orders.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return orderResponseAssembler.attachDetails(orders);
     }
 
-    public List<OrderResponse> getOrderHistory() {
-        Account user = accountService.currentAccount();
+    public OrderPage getOrderHistory(String cursor, Integer size) {
+        UUID studentUid = accountService.currentAccountUid();
 
         List<OrderStatus> completedStatuses = List.of(
                 OrderStatus.COMPLETED,
                 OrderStatus.CANCELLED
         );
 
-        List<Order> orders = orderRepository.findByStudentUidAndStatusInOrderByCreatedAtDesc(
-                user.getUid(), completedStatuses);
+        return findStudentOrdersPage(studentUid, completedStatuses, cursor, size);
+    }
 
-        return orders.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    private OrderPage findStudentOrdersPage(UUID studentUid, List<OrderStatus> statuses, String cursor, Integer size) {
+        return orderPager.page(cursor, size, (cursorCreatedAt, cursorUid, limit) ->
+                orderRepository.findStudentOrdersPage(studentUid, statuses, cursorCreatedAt, cursorUid, limit));
     }
 
     @Transactional
@@ -174,13 +192,14 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
         // Verify user is vendor of this order
-        Account user = accountService.currentAccount();
+        UUID vendorAccountUid = accountService.currentAccountUid();
 
-        if (!order.getVendor().getVendorAccount().getUid().equals(user.getUid())) {
+        if (!order.getVendor().getVendorAccount().getUid().equals(vendorAccountUid)) {
             throw new UnauthorizedException("You don't have permission to update this order");
         }
 
         OrderStatus newStatus = OrderStatus.valueOf(status);
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(newStatus);
         order.setUpdatedAt(ZonedDateTime.now());
 
@@ -190,24 +209,20 @@ public class OrderService {
 
         order = orderRepository.save(order);
 
-        // Send WebSocket update to customer
-        webSocketService.sendOrderStatusUpdate(
-                order.getStudent().getUid(),
-                orderId,
-                status
-        );
+        // Customer is notified once the update is committed
+        eventPublisher.publishEvent(OrderLifecycleEvent.of(OrderLifecycleEvent.Type.STATUS_CHANGED, order, previousStatus));
 
-        return mapToResponse(order);
+        return OrderResponse.from(order);
     }
 
     @Transactional
     public void cancelOrder(UUID orderId) {
-        Account user = accountService.currentAccount();
+        UUID studentUid = accountService.currentAccountUid();
 
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
-        if (!order.getStudent().getUid().equals(user.getUid())) {
+        if (!order.getStudent().getUid().equals(studentUid)) {
             throw new UnauthorizedException("You don't have permission to cancel this order");
         }
 
@@ -215,18 +230,12 @@ public class OrderService {
             throw new IllegalStateException("Order cannot be cancelled at this stage");
         }
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         order.setUpdatedAt(ZonedDateTime.now());
         orderRepository.save(order);
 
-        // Send notification to vendor
-        webSocketService.sendOrderNotification(order.getVendor().getUid(),
-                "Order #" + orderId + " has been cancelled");
-    }
-
-    private OrderResponse mapToResponse(Order order) {
-        OrderResponse response = new OrderResponse();
-        BeanUtils.copyProperties(order,response);
-        return response;
+        // Vendor is notified once the cancellation is committed
+        eventPublisher.publishEvent(OrderLifecycleEvent.of(OrderLifecycleEvent.Type.CANCELLED, order, previousStatus));
     }
 }
\ No newline at end of file
@@ -1,9 +1,22 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.repository;
 
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderPaymentResponse;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
+
+    /**
+     * Payments of a whole page of orders, as read models
+     */
+    @Query("select new com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderPaymentResponse(" +
+            "p.order.uid, p.uid, p.amount, p.currency, p.paymentMethod, p.status, p.transactionId, p.createdAt) " +
+            "from Payment p where p.order.uid in :orderUids order by p.createdAt")
+    List<OrderPaymentResponse> findResponsesByOrderUidIn(@Param("orderUids") Collection<UUID> orderUids);
 }
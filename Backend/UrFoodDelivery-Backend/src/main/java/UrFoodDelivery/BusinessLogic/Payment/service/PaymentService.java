@@ -3,6 +3,7 @@ package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.service;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.DeliveryType;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.Utils.PaymentException;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.entity.Payment;
@@ -14,7 +15,6 @@ import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.repositor
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Service.AccountService;
-import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.WebSocket.service.WebSocketService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +22,7 @@ import org.apache.kafka.common.errors.ResourceNotFoundException;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,7 +43,7 @@ public class PaymentService {
     @Autowired
     private AccountRepository userRepository;
     @Autowired
-    private WebSocketService webSocketService;
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private AccountService accountService;
@@ -56,18 +57,18 @@ public class PaymentService {
 
     @Transactional
     public PaymentResponse processPayment(PaymentRequest request) {
-        Account user = accountService.currentAccount();
+        UUID studentUid = accountService.currentAccountUid();
 
         Order order = orderRepository.findById(request.getOrderId())
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
-        if (!order.getStudent().getUid().equals(user.getUid())) {
+        if (!order.getStudent().getUid().equals(studentUid)) {
             throw new PaymentException("Unauthorized to process payment for this order");
         }
 
         Payment payment = new Payment();
         payment.setOrder(order);
-        payment.setStudent(user);
+        payment.setStudent(order.getStudent());
         payment.setAmount(request.getAmount());
         payment.setCurrency(request.getCurrency() != null ? request.getCurrency() : "USD");
         payment.setPaymentMethod(PaymentMethod.valueOf(request.getPaymentMethod()));
@@ -80,9 +81,11 @@ public class PaymentService {
             payment = paymentRepository.save(payment);
 
             // Update order status
+            OrderStatus previousStatus = order.getStatus();
             order.setStatus(OrderStatus.RECEIVED);
 //            order.setPayment(payment);
             orderRepository.save(order);
+            eventPublisher.publishEvent(OrderLifecycleEvent.of(OrderLifecycleEvent.Type.STATUS_SYNCED, order, previousStatus));
 
             return mapToResponse(payment, "SUCCESS", "Order placed. Pay with cash on " + 
                     (order.getDeliveryType() == DeliveryType.DELIVERY ? "delivery" : "pickup"));
@@ -106,6 +109,7 @@ public class PaymentService {
 
             // Update order based on payment status
             if (payment.getStatus() == PaymentStatus.COMPLETED) {
+                OrderStatus previousStatus = order.getStatus();
                 order.setStatus(OrderStatus.RECEIVED);
                 try {
                     if(order.getPayments()==null)
@@ -114,11 +118,8 @@ public class PaymentService {
                 }catch (Exception es){}
                 orderRepository.save(order);
 
-                // Notify vendor
-                webSocketService.sendOrderNotification(
-                        order.getVendor().getUid(),
-                        "New paid order received: #" + order.getUid()
-                );
+                // Vendor is notified once the payment is committed
+                eventPublisher.publishEvent(OrderLifecycleEvent.of(OrderLifecycleEvent.Type.PAID, order, previousStatus));
             }
 
             return mapToResponse(payment, 
@@ -222,12 +223,12 @@ public class PaymentService {
     }
 
     public PaymentResponse getPaymentStatus(UUID orderId) {
-        Account user = accountService.currentAccount();
+        UUID studentUid = accountService.currentAccountUid();
 
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
-        if (!order.getStudent().getUid().equals(user.getUid())) {
+        if (!order.getStudent().getUid().equals(studentUid)) {
             throw new PaymentException("Unauthorized to view payment for this order");
         }
 
@@ -244,7 +245,7 @@ public class PaymentService {
 
     @Transactional
     public PaymentResponse refundPayment(UUID orderId) {
-        Account user = accountService.currentAccount();
+        UUID studentUid = accountService.currentAccountUid();
 
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
@@ -270,8 +271,10 @@ public class PaymentService {
         paymentRepository.save(payment);
 
         // Update order status
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        eventPublisher.publishEvent(OrderLifecycleEvent.of(OrderLifecycleEvent.Type.STATUS_SYNCED, order, previousStatus));
 
         return mapToResponse(payment, "SUCCESS", "Payment refunded successfully");
     }
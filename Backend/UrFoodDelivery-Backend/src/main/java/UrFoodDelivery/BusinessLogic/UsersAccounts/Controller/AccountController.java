@@ -39,9 +39,22 @@ public class AccountController {
     }
 
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseModel> refresh(@RequestBody RefreshTokenRequest refreshTokenRequest) {
+        return accountService.refresh(refreshTokenRequest);
+    }
+
+
     @GetMapping("/logout")
     public ResponseEntity<String> logOut(HttpServletRequest httpServletRequest){
-        return accountService.logOut(httpServletRequest);
+        return accountService.logOut(httpServletRequest, null);
+    }
+
+    //the refresh token still finds the session when the access token is gone
+    @PostMapping("/logout")
+    public ResponseEntity<String> logOut(HttpServletRequest httpServletRequest,
+                                         @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest){
+        return accountService.logOut(httpServletRequest, refreshTokenRequest == null ? null : refreshTokenRequest.getRefreshToken());
     }
 
 
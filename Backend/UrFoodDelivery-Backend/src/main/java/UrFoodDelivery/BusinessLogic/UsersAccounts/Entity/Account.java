@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.ZonedDateTime;
+import java.util.Locale;
 import java.util.UUID;
 
 @AllArgsConstructor
@@ -24,6 +25,11 @@ public class Account {
     @Column(unique = true)
     private String username;
 
+    //trimmed lower case username, case insensitive lookups use its unique index instead of lower(username)
+    @JsonIgnore
+    @Column(unique = true)
+    private String usernameNormalized;
+
     private String name;
 
     private String email;
@@ -48,4 +54,14 @@ public class Account {
     @Column(columnDefinition = "boolean default false")
     private Boolean appliedAsVendor;
 
+    @PrePersist
+    @PreUpdate
+    void syncUsernameNormalized() {
+        usernameNormalized = normalizeUsername(username);
+    }
+
+    public static String normalizeUsername(String username) {
+        return username == null ? null : username.trim().toLowerCase(Locale.ROOT);
+    }
+
 }
\ No newline at end of file
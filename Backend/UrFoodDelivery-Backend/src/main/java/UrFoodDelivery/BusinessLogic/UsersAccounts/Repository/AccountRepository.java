@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,7 +18,16 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
 
     Optional<Account> findByEmail(@NotBlank(message = "Email is required") @Email(message = "Invalid email format") String email);
 
-    Optional<Account> findByUsernameIgnoreCase(String Accountname);
+    Optional<Account> findByUsernameNormalized(String usernameNormalized);
+
+    List<Account> findByUsernameNormalizedInOrEmailIn(Collection<String> usernamesNormalized, Collection<String> emails);
+
+    /**
+     * Served by the unique index on username_normalized
+     */
+    default Optional<Account> findByUsernameIgnoreCase(String Accountname) {
+        return findByUsernameNormalized(Account.normalizeUsername(Accountname));
+    }
 
     List<Account> findAllByOrderByCreatedOnDesc();
 
@@ -1,8 +1,13 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Service;
 
 
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthenticatedAccount;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthenticatedAccountCache;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthorizationTokens;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthorizationTokensRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.RefreshToken;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.RefreshTokenService;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.SessionLastAccessWriter;
 
 import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.CustomUserDetailsService;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.AccountsFactory.AccountFactory;
@@ -10,17 +15,19 @@ import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Ent
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.AccountRole;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.models.*;
-import com.UrFoodDelivery.UrFoodDelivery.Backend.Configs.SecurityConfig;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import org.springframework.security.core.userdetails.UserDetails;
@@ -29,10 +36,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
-import java.sql.Date;
 import java.time.ZonedDateTime;
-import java.util.HashMap;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 
@@ -56,10 +62,21 @@ public class AccountService {
     @Autowired
     private AuthorizationTokensRepository authorizationTokensRepository;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private SessionLastAccessWriter sessionLastAccessWriter;
+
+    @Autowired
+    private AuthenticatedAccountCache authenticatedAccountCache;
 
     @Autowired
     private AccountFactory accountFactory;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
     public ResponseEntity<RegisterResponseModel> registerAccount(@Valid RegisterAccountModelRequest registerAccountModel, boolean isVendor) {
         if(registerAccountModel.getUsername().equals("admin"))
             ensureMainAdminAccount();
@@ -70,7 +87,7 @@ public class AccountService {
         }
 
         // Check if username or email already exists
-        if (accountRepository.findByUsername(registerAccountModel.getUsername()).isPresent()) {
+        if (accountRepository.findByUsernameIgnoreCase(registerAccountModel.getUsername()).isPresent()) {
             throw new IllegalArgumentException("Accountname already exists");
         }
         if (accountRepository.findByEmail(registerAccountModel.getEmail()).isPresent()) {
@@ -105,18 +122,11 @@ public class AccountService {
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(loginAccountModel.getUsername());
 
-        final String tokens = Jwts.builder().setClaims(new HashMap<>()).setSubject(userDetails.getUsername()).setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2)))
-                .signWith(SignatureAlgorithm.HS256, SecurityConfig.secretKey).compact();
-
-
-        String authorization="Bearer "+tokens;
-
+        //the session row is only read again on refresh and logout, access tokens are checked without it
         AuthorizationTokens authorizationTokens= AuthorizationTokens.builder()
                 .created(new java.util.Date())
                 .authenticated(true)
                 .loggedOut(false)
-                .value(tokens)
                 .lastAccess(new java.util.Date().getTime())
                 .inActiveTime(TimeUnit.HOURS.toMillis(2))
                 .accountId(optionalAccount.get().getUid())
@@ -126,14 +136,39 @@ public class AccountService {
 
         //sendVerificationCode(authorizationTokens,userDetails.getAccountname());
 
-        LoginResponseModel loginResponseModel=LoginResponseModel.builder()
-                .user(userDetails.getUsername())
-                .message("Login Successful.")
-                .Authorization(authorization)
-                .build();
+        return ResponseEntity.ok(issueTokens(userDetails.getUsername(), authorizationTokens, "Login Successful."));
+
+    }
+
+    /**
+     * Rotate the refresh token, the presented one can not be used again
+     */
+    public ResponseEntity<LoginResponseModel> refresh(@Valid RefreshTokenRequest refreshTokenRequest) {
+        RefreshToken refreshToken = refreshTokenService.consume(refreshTokenRequest.getRefreshToken());
+
+        AuthorizationTokens authorizationTokens = authorizationTokensRepository.findById(refreshToken.getSessionId())
+                .filter(AuthorizationTokens::isUsable)
+                .orElseThrow(() -> new BadCredentialsException("Session expired"));
+
+        Account account = accountRepository.findById(refreshToken.getAccountId())
+                .orElseThrow(() -> new BadCredentialsException("Account does not exist"));
 
-        return ResponseEntity.ok(loginResponseModel);
+        sessionLastAccessWriter.touch(authorizationTokens.getUid());
 
+        return ResponseEntity.ok(issueTokens(account.getUsername(), authorizationTokens, "Token Refreshed."));
+    }
+
+    private LoginResponseModel issueTokens(String username, AuthorizationTokens authorizationTokens, String message) {
+        String accessToken = jwtUtil.createAccessToken(username, authorizationTokens.getUid());
+        String refreshToken = refreshTokenService.issue(authorizationTokens.getUid(), authorizationTokens.getAccountId());
+
+        return LoginResponseModel.builder()
+                .user(username)
+                .message(message)
+                .Authorization("Bearer "+accessToken)
+                .refreshToken(refreshToken)
+                .expiresIn(TimeUnit.MILLISECONDS.toSeconds(jwtUtil.getAccessTokenValidity()))
+                .build();
     }
 
     private void ensureMainAdminAccount() {
@@ -153,34 +188,59 @@ public class AccountService {
     }
 
 
-    public ResponseEntity<String> logOut(HttpServletRequest request)
+    /**
+     * Log out the session of the access token, which may have expired already, or else of
+     * the refresh token
+     */
+    public ResponseEntity<String> logOut(HttpServletRequest request, String refreshToken)
     {
+        UUID sessionId = null;
         String authorization=request.getHeader("Authorization");
         String init="Bearer ";
-        if(authorization!=null&&authorization.contains(init)) {
-            String tokenString = authorization.replaceAll(init, "");
-            Optional<AuthorizationTokens> optionalAuthorizationTokens = authorizationTokensRepository.findByValue(tokenString);
-            if (optionalAuthorizationTokens.isEmpty())
-                throw new UnsupportedOperationException("no such authorization");
+        if(authorization!=null&&authorization.startsWith(init)) {
+            try {
+                sessionId = jwtUtil.parseAllowingExpired(authorization.substring(init.length())).getSessionId();
+            } catch (JwtException es) {
+                //not ours or tampered with, the refresh token may still name the session
+            }
+        }
+        if(sessionId==null&&refreshToken!=null&&!refreshToken.isBlank())
+            sessionId = refreshTokenService.sessionOf(refreshToken);
+        if(sessionId==null)
+            throw new UnsupportedOperationException("no such authorization");
 
-            AuthorizationTokens authorizationTokens = optionalAuthorizationTokens.get();
+        //perform the logout action, outstanding access tokens of the session are denied in memory
+        refreshTokenService.revokeSession(sessionId);
 
-            //perform the logout action
-            authorizationTokens.setLoggedOut(true);
-            authorizationTokens.setLogoutTime(new java.util.Date());
-            authorizationTokensRepository.save(authorizationTokens);
+        return ResponseEntity.ok("Success");
+    }
 
-            return ResponseEntity.ok("Success");
-        }
-        else
-            throw new UnsupportedOperationException("no such authorization");
+
+    /**
+     * The principal set by the JWT filter, resolving it needs no database access
+     */
+    public AuthenticatedAccount currentPrincipal()
+    {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if(authentication!=null&&authentication.getPrincipal() instanceof AuthenticatedAccount principal)
+            return principal;
+        return null;
     }
 
+    public UUID currentAccountUid()
+    {
+        AuthenticatedAccount principal = currentPrincipal();
+        if(principal==null)
+            throw new AuthorizationDeniedException("Not Authorized");
+        return principal.getAccountUid();
+    }
 
     public Account currentAccount()
     {
-        String username= SecurityContextHolder.getContext().getAuthentication().getName();
-        Optional<Account> optionalAccount=accountRepository.findByUsernameIgnoreCase(username);
+        AuthenticatedAccount principal = currentPrincipal();
+        if(principal==null)
+            return null;
+        Optional<Account> optionalAccount=accountRepository.findById(principal.getAccountUid());
         if(optionalAccount.isPresent()) {
             Account currAccount = optionalAccount.get();
             return currAccount;
@@ -203,16 +263,19 @@ public class AccountService {
         if(currentAccount==null)
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Authorized");
 
+        String previousUsername = currentAccount.getUsername();
         currentAccount.setName(updateAccountRequest.getName());
-        if(!updateAccountRequest.getUsername().equalsIgnoreCase(currentAccount().getUsername())) {
+        if(!updateAccountRequest.getUsername().equalsIgnoreCase(previousUsername)) {
             Optional<Account> usernameExists = accountRepository.findByUsernameIgnoreCase(updateAccountRequest.getUsername());
             if(usernameExists.isPresent())
                 throw new IllegalArgumentException("Username not available");
             currentAccount.setUsername(updateAccountRequest.getUsername());
+            currentAccount.setUsernameNormalized(Account.normalizeUsername(updateAccountRequest.getUsername()));
         }
         currentAccount.setEmail(updateAccountRequest.getEmail());
 
         accountRepository.save(currentAccount);
+        authenticatedAccountCache.invalidate(previousUsername);
 
         return ResponseEntity.ok("Updated Successfully");
     }
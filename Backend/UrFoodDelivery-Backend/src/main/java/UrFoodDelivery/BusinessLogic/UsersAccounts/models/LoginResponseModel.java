@@ -13,4 +13,7 @@ public class LoginResponseModel {
     private String user;
     private String message;
     private String Authorization;
+    private String refreshToken;
+    //access token lifetime in seconds
+    private Long expiresIn;
 }
@@ -0,0 +1,12 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.models;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest
+{
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
@@ -1,6 +1,7 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.controller;
 
 
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderPage;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorAnalyticsResponse;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service.VendorAnalyticsService;
@@ -19,7 +20,7 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/v1/vendorOrder")
 
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = OrderPage.NEXT_CURSOR_HEADER)
 public class VendorOrderController {
 
     @Autowired
@@ -50,14 +51,17 @@ public class VendorOrderController {
             
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
-        List<OrderResponse> orders = vendorOrderService.getVendorOrders(
+        return vendorOrderService.getVendorOrders(
                 status, 
                 startDate, 
-                endDate
-        );
-        return ResponseEntity.ok(orders);
+                endDate,
+                cursor,
+                size
+        ).toResponseEntity();
     }
 
     /**
@@ -65,13 +69,16 @@ public class VendorOrderController {
      */
     @GetMapping("/orders/by-status/{status}")
     public ResponseEntity<List<OrderResponse>> getOrdersByStatus(
-            @PathVariable String status
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
             ) {
         
-        List<OrderResponse> orders = vendorOrderService.getVendorOrdersByStatus(
-                status
-        );
-        return ResponseEntity.ok(orders);
+        return vendorOrderService.getVendorOrdersByStatus(
+                status,
+                cursor,
+                size
+        ).toResponseEntity();
     }
 
     /**
@@ -79,10 +86,11 @@ public class VendorOrderController {
      */
     @GetMapping("/orders/completed")
     public ResponseEntity<List<OrderResponse>> getCompletedOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
             ) {
         
-        List<OrderResponse> orders = vendorOrderService.getVendorCompletedOrders();
-        return ResponseEntity.ok(orders);
+        return vendorOrderService.getVendorCompletedOrders(cursor, size).toResponseEntity();
     }
 
     /**
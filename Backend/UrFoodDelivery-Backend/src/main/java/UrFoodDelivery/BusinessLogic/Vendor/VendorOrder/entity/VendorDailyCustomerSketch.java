@@ -0,0 +1,43 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.HyperLogLog;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * HyperLogLog registers of the customers who ordered from a vendor on a day, merged
+ * across days to count distinct customers of any period in fixed space
+ */
+@Entity
+@IdClass(VendorDailyCustomerSketch.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorDailyCustomerSketch {
+
+    @Id
+    private UUID vendorUid;
+
+    @Id
+    private LocalDate day;
+
+    @Column(nullable = false, length = HyperLogLog.REGISTERS)
+    private byte[] registers;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID vendorUid;
+        private LocalDate day;
+    }
+}
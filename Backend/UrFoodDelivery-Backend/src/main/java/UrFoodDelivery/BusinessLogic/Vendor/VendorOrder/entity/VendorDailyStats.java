@@ -0,0 +1,47 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Finished orders of a vendor per day of order creation, kept up to date by upserts as
+ * orders complete or get cancelled so analytics read one row per day.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_vendor_daily_stats_day", columnList = "day"))
+@IdClass(VendorDailyStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorDailyStats {
+
+    @Id
+    private UUID vendorUid;
+
+    @Id
+    private LocalDate day;
+
+    private int completedOrders;
+
+    private double revenue;
+
+    private int cancelledOrders;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID vendorUid;
+        private LocalDate day;
+    }
+}
@@ -0,0 +1,47 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Quantity and revenue of one menu item in a vendor's completed orders of a day
+ */
+@Entity
+@IdClass(VendorItemDailyStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorItemDailyStats {
+
+    @Id
+    private UUID vendorUid;
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    private UUID menuFoodUid;
+
+    private String name;
+
+    private int quantity;
+
+    private double revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID vendorUid;
+        private LocalDate day;
+        private UUID menuFoodUid;
+    }
+}
@@ -0,0 +1,20 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Quantity sold and revenue of one menu item, keyed by its uid since names can repeat
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSalesTotals {
+    private UUID menuFoodUid;
+    private String name;
+    private Long quantity;
+    private Double revenue;
+}
@@ -0,0 +1,18 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number and total value of a vendor's orders in one status, one row of a group by
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusTotals {
+    private OrderStatus status;
+    private Long orders;
+    private Double revenue;
+}
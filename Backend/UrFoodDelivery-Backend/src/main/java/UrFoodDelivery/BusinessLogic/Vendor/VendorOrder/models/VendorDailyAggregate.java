@@ -0,0 +1,77 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Totals of the orders a vendor received on one day, each order counted with its latest
+ * state. Updating an order subtracts its previous state and adds the new one.
+ */
+@Data
+@NoArgsConstructor
+public class VendorDailyAggregate {
+
+    private int orders;
+
+    private int completedOrders;
+
+    private double revenue;
+
+    private Map<OrderStatus, Integer> statusCounts = new HashMap<>();
+
+    //orders per customer, a customer leaves the day when the count drops to zero
+    private Map<UUID, Integer> customerOrders = new HashMap<>();
+
+    private Map<UUID, ItemTotals> items = new HashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemTotals {
+        private String name;
+        private int quantity;
+        private double revenue;
+    }
+
+    public VendorDailyAggregate add(OrderLifecycleEvent order) {
+        return apply(order, 1);
+    }
+
+    public VendorDailyAggregate subtract(OrderLifecycleEvent order) {
+        return apply(order, -1);
+    }
+
+    private VendorDailyAggregate apply(OrderLifecycleEvent order, int sign) {
+        orders += sign;
+        statusCounts.merge(order.getStatus(), sign, VendorDailyAggregate::sumOrRemove);
+        customerOrders.merge(order.getStudentId(), sign, VendorDailyAggregate::sumOrRemove);
+
+        if (order.getStatus() != OrderStatus.COMPLETED)
+            return this;
+
+        completedOrders += sign;
+        revenue += sign * order.getTotal();
+        for (OrderLifecycleEvent.Item item : order.getItems()) {
+            items.compute(item.getMenuFoodId(), (menuFoodId, totals) -> {
+                if (totals == null)
+                    totals = new ItemTotals(item.getName(), 0, 0.0);
+                totals.setQuantity(totals.getQuantity() + sign * item.getQuantity());
+                totals.setRevenue(totals.getRevenue() + sign * item.getQuantity() * item.getPrice());
+                return totals.getQuantity() == 0 ? null : totals;
+            });
+        }
+        return this;
+    }
+
+    private static Integer sumOrRemove(Integer current, Integer change) {
+        int sum = current + change;
+        return sum == 0 ? null : sum;
+    }
+}
@@ -0,0 +1,20 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Number of a vendor's orders in one status, one row of a group by over all vendors
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorStatusCount {
+    private UUID vendorUid;
+    private OrderStatus status;
+    private Long orders;
+}
@@ -0,0 +1,15 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorDailyCustomerSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface VendorDailyCustomerSketchRepository extends JpaRepository<VendorDailyCustomerSketch, VendorDailyCustomerSketch.Key> {
+
+    List<VendorDailyCustomerSketch> findByVendorUidAndDayBetween(UUID vendorUid, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,17 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface VendorDailyStatsRepository extends JpaRepository<VendorDailyStats, VendorDailyStats.Key> {
+
+    List<VendorDailyStats> findByVendorUidAndDayBetweenOrderByDay(UUID vendorUid, LocalDate from, LocalDate to);
+
+    List<VendorDailyStats> findByDayGreaterThanEqual(LocalDate from);
+}
@@ -0,0 +1,31 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorItemDailyStats;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.ItemSalesTotals;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface VendorItemDailyStatsRepository extends JpaRepository<VendorItemDailyStats, VendorItemDailyStats.Key> {
+
+    /**
+     * Best selling items of a vendor from..to inclusive, by quantity
+     */
+    @Query("select new com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.ItemSalesTotals(" +
+            "s.menuFoodUid, max(s.name), sum(s.quantity), sum(s.revenue)) from VendorItemDailyStats s " +
+            "where s.vendorUid = :vendorUid and s.day between :from and :to " +
+            "group by s.menuFoodUid order by sum(s.quantity) desc")
+    List<ItemSalesTotals> findTopSellingItems(@Param("vendorUid") UUID vendorUid,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to,
+                                              Limit limit);
+
+    List<VendorItemDailyStats> findByVendorUidAndDayBetween(UUID vendorUid, LocalDate from, LocalDate to);
+}
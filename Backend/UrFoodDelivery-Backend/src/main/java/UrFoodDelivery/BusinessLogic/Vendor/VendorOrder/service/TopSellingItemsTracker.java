@@ -0,0 +1,242 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorItemDailyStats;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.ItemSalesTotals;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorItemDailyStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate best sellers per vendor and day, kept in memory as Space-Saving summaries
+ * of at most capacity items each. A period is answered by merging its days, which costs
+ * days * capacity no matter how many orders there were. A vendor's days are loaded from
+ * the item rollup on its first query and then follow completed orders.
+ * <p>
+ * Events only reach the node that committed the order, so a vendor's days are read from
+ * the rollup again once they are older than reload-ms, which also drops the drift of the
+ * approximation. Events that come in while the rollup is read are applied on top of it,
+ * an order committing at the very moment of the read can be counted twice until the
+ * next reload.
+ */
+@Component
+public class TopSellingItemsTracker {
+
+    @Autowired
+    private VendorItemDailyStatsRepository itemDailyStatsRepository;
+
+    @Value("${analytics.top-items.capacity:50}")
+    private int capacity;
+
+    @Value("${analytics.top-items.retention-days:31}")
+    private int retentionDays;
+
+    @Value("${analytics.top-items.reload-ms:300000}")
+    private long reloadInterval;
+
+    private final Map<UUID, VendorDays> vendors = new ConcurrentHashMap<>();
+
+    /**
+     * Top items of a vendor from..to inclusive, empty when the period reaches further back
+     * than the tracked days
+     */
+    public Optional<List<ItemSalesTotals>> topItems(UUID vendorUid, LocalDate from, LocalDate to, int limit) {
+        if (from.isBefore(oldestTrackedDay()))
+            return Optional.empty();
+
+        VendorDays days = vendors.computeIfAbsent(vendorUid, uid -> new VendorDays());
+        if (days.startLoad(System.currentTimeMillis() - reloadInterval))
+            load(vendorUid, days);
+
+        SpaceSaving merged = new SpaceSaving(capacity);
+        synchronized (days) {
+            //first load still running on another request
+            if (days.loadedAt == 0)
+                return Optional.empty();
+            days.evictBefore(oldestTrackedDay());
+            days.byDay.subMap(from, true, to, true).values().forEach(merged::merge);
+        }
+        return Optional.of(merged.top(limit));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        boolean completed = event.getStatus() == OrderStatus.COMPLETED;
+        boolean wasCompleted = event.getPreviousStatus() == OrderStatus.COMPLETED;
+        if (completed == wasCompleted)
+            return;
+
+        //vendors nobody queried yet are loaded from the rollup when they are
+        VendorDays days = vendors.get(event.getVendorId());
+        if (days == null)
+            return;
+
+        synchronized (days) {
+            apply(days.byDay, event, completed ? 1 : -1);
+            if (days.pending != null)
+                days.pending.add(event);
+        }
+    }
+
+    /**
+     * Read the vendor's days from the rollup without holding its lock, then replay the
+     * events that came in meanwhile on the fresh days
+     */
+    private void load(UUID vendorUid, VendorDays days) {
+        NavigableMap<LocalDate, SpaceSaving> byDay = new TreeMap<>();
+        try {
+            for (VendorItemDailyStats row : itemDailyStatsRepository.findByVendorUidAndDayBetween(
+                    vendorUid, oldestTrackedDay(), LocalDate.now())) {
+                byDay.computeIfAbsent(row.getDay(), d -> new SpaceSaving(capacity))
+                        .add(row.getMenuFoodUid(), row.getName(), row.getQuantity(), row.getRevenue());
+            }
+        } catch (RuntimeException e) {
+            synchronized (days) {
+                days.pending = null;
+            }
+            throw e;
+        }
+
+        synchronized (days) {
+            for (OrderLifecycleEvent event : days.pending)
+                apply(byDay, event, event.getStatus() == OrderStatus.COMPLETED ? 1 : -1);
+            days.byDay = byDay;
+            days.pending = null;
+            days.loadedAt = System.currentTimeMillis();
+        }
+    }
+
+    private void apply(NavigableMap<LocalDate, SpaceSaving> byDay, OrderLifecycleEvent event, int sign) {
+        LocalDate day = VendorDailyStatsUpdater.dayOf(event);
+        if (day.isBefore(oldestTrackedDay()))
+            return;
+
+        SpaceSaving summary = byDay.computeIfAbsent(day, d -> new SpaceSaving(capacity));
+        for (OrderLifecycleEvent.Item item : event.getItems())
+            summary.add(item.getMenuFoodId(), item.getName(), sign * item.getQuantity(),
+                    sign * item.getQuantity() * item.getPrice());
+    }
+
+    private LocalDate oldestTrackedDay() {
+        return LocalDate.now().minusDays(retentionDays);
+    }
+
+    private static class VendorDays {
+
+        private NavigableMap<LocalDate, SpaceSaving> byDay = new TreeMap<>();
+
+        //0 until the first load finished
+        private long loadedAt;
+
+        //events seen during a load, null when no load is running
+        private List<OrderLifecycleEvent> pending;
+
+        /**
+         * True for the one caller that should read the rollup, when the days are stale
+         * and nobody is loading them yet
+         */
+        private synchronized boolean startLoad(long staleBefore) {
+            if (pending != null || loadedAt > staleBefore)
+                return false;
+            pending = new ArrayList<>();
+            return true;
+        }
+
+        private void evictBefore(LocalDate day) {
+            byDay.headMap(day, false).clear();
+        }
+    }
+
+    /**
+     * Space-Saving summary weighted by quantity. An item not tracked yet replaces the
+     * smallest counter and inherits its count as error, so counts are over estimated by
+     * at most total / capacity and every item above that is guaranteed to be kept.
+     */
+    static class SpaceSaving {
+
+        private final int capacity;
+
+        private final Map<UUID, Counter> counters = new HashMap<>();
+
+        SpaceSaving(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void add(UUID menuFoodUid, String name, long quantity, double revenue) {
+            Counter counter = counters.get(menuFoodUid);
+            if (counter == null) {
+                //removing what was never tracked, nothing to undo
+                if (quantity <= 0)
+                    return;
+                if (counters.size() >= capacity) {
+                    Counter smallest = Collections.min(counters.values(), Comparator.comparingLong(c -> c.count));
+                    counters.remove(smallest.menuFoodUid);
+                    counter = new Counter(menuFoodUid, smallest.count, smallest.count);
+                } else {
+                    counter = new Counter(menuFoodUid, 0, 0);
+                }
+                counters.put(menuFoodUid, counter);
+            }
+
+            counter.name = name;
+            counter.count = Math.max(0, counter.count + quantity);
+            counter.revenue = Math.max(0, counter.revenue + revenue);
+            if (counter.count == 0)
+                counters.remove(menuFoodUid);
+        }
+
+        void merge(SpaceSaving other) {
+            for (Counter counter : other.counters.values()) {
+                Counter merged = counters.computeIfAbsent(counter.menuFoodUid, uid -> new Counter(uid, 0, 0));
+                merged.name = counter.name;
+                merged.count += counter.count;
+                merged.error += counter.error;
+                merged.revenue += counter.revenue;
+            }
+        }
+
+        List<ItemSalesTotals> top(int limit) {
+            PriorityQueue<Counter> heap = new PriorityQueue<>(limit + 1, Comparator.comparingLong(c -> c.count));
+            for (Counter counter : counters.values()) {
+                heap.offer(counter);
+                if (heap.size() > limit)
+                    heap.poll();
+            }
+
+            List<ItemSalesTotals> top = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                Counter counter = heap.poll();
+                top.add(new ItemSalesTotals(counter.menuFoodUid, counter.name, counter.count, counter.revenue));
+            }
+            Collections.reverse(top);
+            return top;
+        }
+    }
+
+    private static class Counter {
+
+        private final UUID menuFoodUid;
+
+        private String name;
+
+        private long count;
+
+        private long error;
+
+        private double revenue;
+
+        private Counter(UUID menuFoodUid, long count, long error) {
+            this.menuFoodUid = menuFoodUid;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
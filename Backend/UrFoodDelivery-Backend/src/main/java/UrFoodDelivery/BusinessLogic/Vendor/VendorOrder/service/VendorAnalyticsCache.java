@@ -0,0 +1,135 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorAnalyticsResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short lived cache of the analytics response per vendor and time range, for dashboards
+ * that poll. Concurrent misses of the same key wait for one computation, and every entry
+ * of a vendor is dropped once one of its orders changed.
+ */
+@Component
+public class VendorAnalyticsCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${analytics.cache.ttl-ms:30000}")
+    private long ttl;
+
+    @Value("${analytics.cache.max-size:5000}")
+    private int maxSize;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private Counter hits;
+
+    private Counter misses;
+
+    private Counter coalesced;
+
+    private Counter invalidations;
+
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("analytics.cache.requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("analytics.cache.requests").tag("result", "miss").register(meterRegistry);
+        coalesced = Counter.builder("analytics.cache.requests").tag("result", "coalesced").register(meterRegistry);
+        invalidations = Counter.builder("analytics.cache.invalidations").register(meterRegistry);
+        meterRegistry.gauge("analytics.cache.size", entries, Map::size);
+    }
+
+    public VendorAnalyticsResponse get(UUID vendorUid, String timeRange, Supplier<VendorAnalyticsResponse> loader) {
+        Key key = new Key(vendorUid, timeRange);
+        long now = System.currentTimeMillis();
+
+        Entry cached = entries.get(key);
+        if (cached != null && cached.expiresAt > now && cached.value.isDone()) {
+            hits.increment();
+            return join(cached.value);
+        }
+
+        //the request that installs the entry computes it, the others wait on its future
+        Entry entry = new Entry(new CompletableFuture<>());
+        Entry current = entries.compute(key, (k, existing) ->
+                existing != null && existing.expiresAt > now ? existing : entry);
+        if (current != entry) {
+            (current.value.isDone() ? hits : coalesced).increment();
+            return join(current.value);
+        }
+
+        misses.increment();
+        try {
+            VendorAnalyticsResponse response = loader.get();
+            entry.expiresAt = System.currentTimeMillis() + ttl;
+            entry.value.complete(response);
+            evictIfFull();
+            return response;
+        } catch (RuntimeException e) {
+            entries.remove(key, entry);
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    //after commit so a reload can not read the state from before the change
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        invalidate(event.getVendorId());
+    }
+
+    public void invalidate(UUID vendorUid) {
+        if (entries.keySet().removeIf(key -> key.vendorUid().equals(vendorUid)))
+            invalidations.increment();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxSize)
+            return;
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        //still full of live entries, start over rather than track recency
+        if (entries.size() > maxSize)
+            entries.clear();
+    }
+
+    private static VendorAnalyticsResponse join(CompletableFuture<VendorAnalyticsResponse> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private record Key(UUID vendorUid, String timeRange) {
+    }
+
+    private static class Entry {
+
+        private final CompletableFuture<VendorAnalyticsResponse> value;
+
+        //stays open while the value is being computed so waiters join it
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(CompletableFuture<VendorAnalyticsResponse> value) {
+            this.value = value;
+        }
+    }
+}
@@ -1,28 +1,36 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
 
-import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorDailyStats;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.ItemSalesTotals;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.OrderStatusTotals;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorAnalyticsResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorDailyAggregate;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorDailyCustomerSketchRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorDailyStatsRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorItemDailyStatsRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.streams.VendorAnalyticsStore;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.VendorRepository;
 
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services.VendorQueryFanout;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services.VendorService;
-import lombok.RequiredArgsConstructor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.HyperLogLog;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.common.errors.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.TextStyle;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -30,9 +38,23 @@ import java.util.stream.Collectors;
 
 public class VendorAnalyticsService {
 
+    private static final List<OrderStatus> ACTIVE_STATUSES = List.of(
+            OrderStatus.PENDING,
+            OrderStatus.RECEIVED,
+            OrderStatus.PREPARING,
+            OrderStatus.READY,
+            OrderStatus.OUT_FOR_DELIVERY
+    );
+
     @Autowired
     private OrderRepository orderRepository;
     @Autowired
+    private VendorDailyStatsRepository dailyStatsRepository;
+    @Autowired
+    private VendorItemDailyStatsRepository itemDailyStatsRepository;
+    @Autowired
+    private VendorDailyCustomerSketchRepository customerSketchRepository;
+    @Autowired
     private AccountRepository userRepository;
     @Autowired
     private VendorRepository vendorRepository;
@@ -40,40 +62,147 @@ public class VendorAnalyticsService {
     @Autowired
     private VendorService vendorService;
 
+    @Autowired
+    private VendorAnalyticsCache analyticsCache;
+
+    @Autowired
+    private TopSellingItemsTracker topSellingItemsTracker;
+
+    @Autowired
+    private VendorQueryFanout queryFanout;
+
+    //only present when analytics.streams.enabled is set
+    @Autowired(required = false)
+    private VendorAnalyticsStore analyticsStore;
+
     /**
      * Get comprehensive analytics for vendor
      */
     public VendorAnalyticsResponse getVendorAnalytics( String timeRange) {
         Vendor vendor = vendorService.currentVendor();
-        
-        ZonedDateTime startDate = calculateStartDate(timeRange);
+
+        // Polled by open dashboards, cached briefly and dropped when an order changes
+        return analyticsCache.get(vendor.getUid(), timeRange, () -> computeVendorAnalytics(vendor, timeRange));
+    }
+
+    private VendorAnalyticsResponse computeVendorAnalytics(Vendor vendor, String timeRange) {
+        Periods periods = Periods.of(timeRange, LocalDate.now());
+
+        // Served from the streams state store when it is running
+        if (analyticsStore != null) {
+            Optional<VendorAnalyticsResponse> analytics = getVendorAnalyticsFromStore(vendor, timeRange, periods);
+            if (analytics.isPresent())
+                return analytics.get();
+        }
+
+        // Otherwise read from the daily rollups, at most one row per day
+        UUID vendorUid = vendor.getUid();
+        LocalDate from = periods.from();
+        LocalDate to = periods.to();
+        LocalDate previousFrom = periods.previousFrom();
+        LocalDate previousTo = periods.previousTo();
+        ZonedDateTime startDate = from.atStartOfDay(ZoneId.systemDefault());
         ZonedDateTime endDate = ZonedDateTime.now();
 
-        // Get all orders in the time range
-        List<Order> orders = orderRepository.findByVendorAndCreatedAtBetween(
-                vendor,
-                startDate, 
-                endDate
-        );
+        // The reads are independent, run them side by side
+        VendorQueryFanout.Batch batch = queryFanout.batch();
+        Future<List<VendorDailyStats>> days = batch.submit(
+                () -> dailyStatsRepository.findByVendorUidAndDayBetweenOrderByDay(vendorUid, from, to));
+        Future<List<VendorDailyStats>> previousDays = batch.submit(
+                () -> dailyStatsRepository.findByVendorUidAndDayBetweenOrderByDay(vendorUid, previousFrom, previousTo));
+        // Orders still in progress are not rolled up yet, there are only a few of them
+        Future<List<OrderStatusTotals>> activeTotals = batch.submit(
+                () -> orderRepository.sumByStatus(vendorUid, ACTIVE_STATUSES, startDate, endDate));
+        Future<HyperLogLog> customers = batch.submit(() -> customerSketch(vendorUid, from, to));
+        Future<List<ItemSalesTotals>> topItems = batch.submit(() -> topSellingItems(vendorUid, from, to, 5));
+        Future<Long> pendingOrders = batch.submit(() -> orderRepository.countByVendorAndStatus(vendor, OrderStatus.PENDING));
+        batch.join();
+
+        VendorMetricsAccumulator current = new VendorMetricsAccumulator(from, to);
+        VendorMetricsAccumulator previous = new VendorMetricsAccumulator(previousFrom, previousTo);
+        addDays(current, days.resultNow());
+        addDays(previous, previousDays.resultNow());
+        for (OrderStatusTotals totals : activeTotals.resultNow())
+            current.addOrders(totals.getStatus(), totals.getOrders(), totals.getRevenue());
+
+        return buildAnalytics(current, previous, timeRange, topItems.resultNow(),
+                customers.resultNow().estimate(), pendingOrders.resultNow());
+    }
 
-        // Calculate previous period for comparison
-        ZonedDateTime previousStartDate = calculatePreviousStartDate(timeRange);
-        List<Order> previousOrders = orderRepository.findByVendorAndCreatedAtBetween(
-                vendor,
-                previousStartDate, 
-                startDate
-        );
+    private HyperLogLog customerSketch(UUID vendorUid, LocalDate from, LocalDate to) {
+        HyperLogLog customers = new HyperLogLog();
+        customerSketchRepository.findByVendorUidAndDayBetween(vendorUid, from, to)
+                .forEach(day -> customers.merge(HyperLogLog.of(day.getRegisters())));
+        return customers;
+    }
+
+    private void addDays(VendorMetricsAccumulator metrics, List<VendorDailyStats> days) {
+        for (VendorDailyStats day : days) {
+            metrics.addOrders(OrderStatus.COMPLETED, day.getCompletedOrders(), day.getRevenue(), day.getDay());
+            metrics.addOrders(OrderStatus.CANCELLED, day.getCancelledOrders(), 0.0, day.getDay());
+        }
+    }
 
+    /**
+     * Same totals taken from the per day aggregates of the streams state store, one
+     * range lookup per period
+     */
+    private Optional<VendorAnalyticsResponse> getVendorAnalyticsFromStore(Vendor vendor, String timeRange, Periods periods) {
+        Optional<Map<LocalDate, VendorDailyAggregate>> currentDays = analyticsStore.getDailyAggregates(
+                vendor.getUid(), periods.from(), periods.to());
+        Optional<Map<LocalDate, VendorDailyAggregate>> previousDays = analyticsStore.getDailyAggregates(
+                vendor.getUid(), periods.previousFrom(), periods.previousTo());
+        if (currentDays.isEmpty() || previousDays.isEmpty())
+            return Optional.empty();
+
+        VendorMetricsAccumulator current = new VendorMetricsAccumulator(periods.from(), periods.to());
+        VendorMetricsAccumulator previous = new VendorMetricsAccumulator(periods.previousFrom(), periods.previousTo());
+        previousDays.get().forEach((day, aggregate) -> addAggregate(previous, day, aggregate));
+
+        Set<UUID> customers = new HashSet<>();
+        Map<UUID, ItemSalesTotals> items = new HashMap<>();
+        currentDays.get().forEach((day, aggregate) -> {
+            addAggregate(current, day, aggregate);
+            customers.addAll(aggregate.getCustomerOrders().keySet());
+            aggregate.getItems().forEach((menuFoodUid, item) -> items.merge(menuFoodUid,
+                    new ItemSalesTotals(menuFoodUid, item.getName(), (long) item.getQuantity(), item.getRevenue()),
+                    (a, b) -> new ItemSalesTotals(menuFoodUid, b.getName(), a.getQuantity() + b.getQuantity(), a.getRevenue() + b.getRevenue())));
+        });
+
+        List<ItemSalesTotals> topItems = items.values().stream()
+                .sorted((a, b) -> Long.compare(b.getQuantity(), a.getQuantity()))
+                .limit(5)
+                .collect(Collectors.toList());
+
+        return Optional.of(buildAnalytics(current, previous, timeRange, topItems, customers.size(),
+                orderRepository.countByVendorAndStatus(vendor, OrderStatus.PENDING)));
+    }
+
+    //the aggregates only keep the revenue of completed orders
+    private void addAggregate(VendorMetricsAccumulator metrics, LocalDate day, VendorDailyAggregate aggregate) {
+        aggregate.getStatusCounts().forEach((status, count) -> metrics.addOrders(status, count,
+                status == OrderStatus.COMPLETED ? aggregate.getRevenue() : 0.0, day));
+    }
+
+    /**
+     * Shape the accumulated metrics into the response
+     */
+    private VendorAnalyticsResponse buildAnalytics(VendorMetricsAccumulator current,
+                                                   VendorMetricsAccumulator previous,
+                                                   String timeRange,
+                                                   List<ItemSalesTotals> topItems,
+                                                   long totalCustomers,
+                                                   long pendingOrders) {
         VendorAnalyticsResponse analytics = new VendorAnalyticsResponse();
 
         // Calculate metrics
-        calculateMetrics(analytics, orders, previousOrders);
-        
+        calculateMetrics(analytics, current, previous, totalCustomers, pendingOrders);
+
         // Generate charts data
-        analytics.setDailyRevenue(generateDailyRevenue(orders, timeRange));
-        analytics.setTopSellingItems(getTopSellingItems(vendor.getUid(), orders));
-        analytics.setOrdersByStatus(getOrdersByStatus(orders));
-        analytics.setRevenueByDay(generateRevenueByDay(orders));
+        analytics.setDailyRevenue(generateDailyRevenue(current, timeRange));
+        analytics.setTopSellingItems(toTopSellingItems(topItems));
+        analytics.setOrdersByStatus(getOrdersByStatus(current));
+        analytics.setRevenueByDay(generateRevenueByDay(current));
 
         return analytics;
     }
@@ -81,189 +210,95 @@ public class VendorAnalyticsService {
     /**
      * Calculate all metrics
      */
-    private void calculateMetrics(VendorAnalyticsResponse analytics, List<Order> orders, List<Order> previousOrders) {
+    private void calculateMetrics(VendorAnalyticsResponse analytics,
+                                  VendorMetricsAccumulator current,
+                                  VendorMetricsAccumulator previous,
+                                  long totalCustomers,
+                                  long pendingOrders) {
         // Total Revenue
-        double totalRevenue = orders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotal)
-                .reduce(0.0,Double::sum);
-        analytics.setTotalRevenue(totalRevenue);
-
-        // Previous Revenue for growth calculation
-        double previousRevenue = previousOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotal)
-                .reduce(0.0,Double::sum);
+        analytics.setTotalRevenue(current.getCompletedRevenue());
 
         // Total Orders
-        int totalOrders = (int) orders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .count();
-        analytics.setTotalOrders(totalOrders);
-
-        int previousTotalOrders = (int) previousOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .count();
+        analytics.setTotalOrders((int) current.getCompletedOrders());
 
         // Average Order Value
-        double avgOrderValue = totalOrders > 0 ? totalRevenue / totalOrders : 0;
-        analytics.setAverageOrderValue(avgOrderValue);
+        analytics.setAverageOrderValue(current.getAverageOrderValue());
 
         // Total Customers (unique)
-        int totalCustomers = (int) orders.stream()
-                .map(o -> o.getStudent().getUid())
-                .distinct()
-                .count();
-        analytics.setTotalCustomers(totalCustomers);
+        analytics.setTotalCustomers((int) totalCustomers);
 
         // Completion Rate
-        long completedOrders = orders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .count();
-        long allOrders = orders.size();
-        double completionRate = allOrders > 0 ? (completedOrders * 100.0) / allOrders : 0;
-        analytics.setCompletionRate(completionRate);
+        analytics.setCompletionRate(current.getCompletionRate());
 
         // Average Rating (mock - would come from a ratings table)
         analytics.setAverageRating(4.7);
 
         // Pending Orders (current)
-        long pendingOrders = orderRepository.countByVendorAndStatus(
-                orders.get(0).getVendor(),
-                OrderStatus.PENDING
-        );
         analytics.setPendingOrders((int) pendingOrders);
 
         // Growth calculations
-        double revenueGrowth = calculateGrowth( BigDecimal.valueOf(totalRevenue),  BigDecimal.valueOf(previousRevenue));
-        analytics.setRevenueGrowth(revenueGrowth);
-
-        double orderGrowth = calculateGrowth(
-                BigDecimal.valueOf(totalOrders), 
-                BigDecimal.valueOf(previousTotalOrders)
-        );
-        analytics.setOrderGrowth(orderGrowth);
-    }
-
-    /**
-     * Calculate growth percentage
-     */
-    private double calculateGrowth(BigDecimal current, BigDecimal previous) {
-        if (previous.compareTo(BigDecimal.ZERO) == 0) {
-            return current.compareTo(BigDecimal.ZERO) > 0 ? 100.0 : 0.0;
-        }
-        
-        return current.subtract(previous)
-                .divide(previous, 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100))
-                .doubleValue();
+        analytics.setRevenueGrowth(VendorMetricsAccumulator.growth(
+                current.getCompletedRevenue(), previous.getCompletedRevenue()));
+        analytics.setOrderGrowth(VendorMetricsAccumulator.growth(
+                current.getCompletedOrders(), previous.getCompletedOrders()));
     }
 
     /**
      * Generate daily revenue data
      */
-    private List<VendorAnalyticsResponse.DailyRevenueData> generateDailyRevenue(List<Order> orders, String timeRange) {
-        Map<LocalDate, VendorAnalyticsResponse.DailyRevenueData> revenueMap = new LinkedHashMap<>();
+    private List<VendorAnalyticsResponse.DailyRevenueData> generateDailyRevenue(VendorMetricsAccumulator metrics, String timeRange) {
+        int days = timeRange.equals("week") ? 7 : 30;
+        List<VendorAnalyticsResponse.DailyRevenueData> dailyRevenue = new ArrayList<>(days);
 
-        // Initialize all dates with zero values
-        LocalDate startDate = LocalDate.now().minusDays(timeRange.equals("week") ? 6 : 29);
-        for (int i = 0; i <= (timeRange.equals("week") ? 6 : 29); i++) {
+        // One entry per date, zero when nothing completed
+        LocalDate startDate = LocalDate.now().minusDays(days - 1);
+        for (int i = 0; i < days; i++) {
             LocalDate date = startDate.plusDays(i);
             VendorAnalyticsResponse.DailyRevenueData data = new VendorAnalyticsResponse.DailyRevenueData();
             data.setDate(date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
-            data.setRevenue(0.0);
-            data.setOrders(0);
-            revenueMap.put(date, data);
+            data.setRevenue(metrics.getDayRevenue(date));
+            data.setOrders((int) metrics.getDayOrders(date));
+            dailyRevenue.add(data);
         }
 
-        // Fill in actual data
-        orders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .forEach(order -> {
-                    LocalDate orderDate = order.getCreatedAt().toLocalDate();
-                    if (revenueMap.containsKey(orderDate)) {
-                        VendorAnalyticsResponse.DailyRevenueData data = revenueMap.get(orderDate);
-                        data.setRevenue(data.getRevenue() + order.getTotal());
-                        data.setOrders(data.getOrders() + 1);
-                    }
-                });
-
-        return new ArrayList<>(revenueMap.values());
+        return dailyRevenue;
     }
 
-    /**
-     * Get top selling items
-     */
-    private List<VendorAnalyticsResponse.TopSellingItem> getTopSellingItems(UUID vendorId, List<Order> orders) {
-        Map<String, VendorAnalyticsResponse.TopSellingItem> itemsMap = new HashMap<>();
-
-        orders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .flatMap(o -> o.getOrderItems().stream())
-                .forEach(item -> {
-                    String itemName = item.getMenuFood().getName();
-                    VendorAnalyticsResponse.TopSellingItem topItem = itemsMap.getOrDefault(
-                            itemName,
-                            new VendorAnalyticsResponse.TopSellingItem(itemName, 0, 0.0)
-                    );
-                    
-                    topItem.setOrders(topItem.getOrders() + item.getQuantity());
-                    topItem.setRevenue(topItem.getRevenue() + 
-                            item.getPrice()*((item.getQuantity())));
-
-                    
-                    itemsMap.put(itemName, topItem);
-                });
-
-        return itemsMap.values().stream()
-                .sorted((a, b) -> Integer.compare(b.getOrders(), a.getOrders()))
-                .limit(5)
+    private List<VendorAnalyticsResponse.TopSellingItem> toTopSellingItems(List<ItemSalesTotals> items) {
+        return items.stream()
+                .map(item -> new VendorAnalyticsResponse.TopSellingItem(
+                        item.getName(),
+                        item.getQuantity().intValue(),
+                        item.getRevenue()
+                ))
                 .collect(Collectors.toList());
     }
 
     /**
      * Get orders by status distribution
      */
-    private List<VendorAnalyticsResponse.StatusDistribution> getOrdersByStatus(List<Order> orders) {
-        Map<OrderStatus, Long> statusCount = orders.stream()
-                .collect(Collectors.groupingBy(Order::getStatus, Collectors.counting()));
-
-        return statusCount.entrySet().stream()
-                .map(entry -> new VendorAnalyticsResponse.StatusDistribution(
-                        entry.getKey().name(),
-                        entry.getValue().intValue()
-                ))
-                .collect(Collectors.toList());
+    private List<VendorAnalyticsResponse.StatusDistribution> getOrdersByStatus(VendorMetricsAccumulator metrics) {
+        List<VendorAnalyticsResponse.StatusDistribution> distribution = new ArrayList<>();
+        for (OrderStatus status : OrderStatus.values()) {
+            long orders = metrics.getOrders(status);
+            if (orders > 0)
+                distribution.add(new VendorAnalyticsResponse.StatusDistribution(status.name(), (int) orders));
+        }
+        return distribution;
     }
 
     /**
      * Generate revenue by day of week
      */
-    private List<VendorAnalyticsResponse.RevenueByDay> generateRevenueByDay(List<Order> orders) {
-        Map<DayOfWeek, Double> revenueByDay = new EnumMap<>(DayOfWeek.class);
-
-        // Initialize all days
+    private List<VendorAnalyticsResponse.RevenueByDay> generateRevenueByDay(VendorMetricsAccumulator metrics) {
+        List<VendorAnalyticsResponse.RevenueByDay> revenueByDay = new ArrayList<>(DayOfWeek.values().length);
         for (DayOfWeek day : DayOfWeek.values()) {
-            revenueByDay.put(day, 0.0);
+            revenueByDay.add(new VendorAnalyticsResponse.RevenueByDay(
+                    day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
+                    metrics.getDayOfWeekRevenue(day)
+            ));
         }
-
-        // Calculate revenue
-        orders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .forEach(order -> {
-                    DayOfWeek day = order.getCreatedAt().getDayOfWeek();
-                    revenueByDay.put(day, 
-                            revenueByDay.get(day) + order.getTotal()
-                    );
-                });
-
-        return revenueByDay.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> new VendorAnalyticsResponse.RevenueByDay(
-                        entry.getKey().getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
-                        entry.getValue()
-                ))
-                .collect(Collectors.toList());
+        return revenueByDay;
     }
 
     /**
@@ -273,34 +308,37 @@ public class VendorAnalyticsService {
         Vendor vendor = vendorService.currentVendor();
         
         ZonedDateTime today = ZonedDateTime.now().with(LocalDate.now().atStartOfDay());
+        ZonedDateTime weekStart = ZonedDateTime.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        
+        // The reads are independent, run them side by side
+        VendorQueryFanout.Batch batch = queryFanout.batch();
+        Future<List<OrderStatusTotals>> todayTotals = batch.submit(() -> orderRepository.sumByStatus(
+                vendor.getUid(), List.of(OrderStatus.values()), today, ZonedDateTime.now()));
+        Future<Long> pendingOrders = batch.submit(() -> orderRepository.countByVendorAndStatus(
+                vendor,
+                OrderStatus.PENDING
+        ));
+        Future<List<VendorDailyStats>> weekDays = batch.submit(() -> dailyStatsRepository.findByVendorUidAndDayBetweenOrderByDay(
+                vendor.getUid(),
+                weekStart.toLocalDate(), 
+                LocalDate.now()
+        ));
+        batch.join();
         
         VendorAnalyticsResponse.DashboardStats stats = new VendorAnalyticsResponse.DashboardStats();
         
         // Today's orders
-        stats.setTodayOrders(orderRepository.countByVendorAndCreatedAtBetween(
-                vendor,
-                today, 
-                ZonedDateTime.now()
-        ).intValue());
+        stats.setTodayOrders((int) todayTotals.resultNow().stream()
+                .mapToLong(OrderStatusTotals::getOrders)
+                .sum());
         
         // Pending orders
-        stats.setPendingOrders(Math.toIntExact(orderRepository.countByVendorAndStatus(
-                vendor,
-                OrderStatus.PENDING
-        )));
+        stats.setPendingOrders(Math.toIntExact(pendingOrders.resultNow()));
         
         // This week's revenue
-        ZonedDateTime weekStart = ZonedDateTime.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-        List<Order> weekOrders = orderRepository.findByVendorAndCreatedAtBetween(
-                vendor,
-                weekStart, 
-                ZonedDateTime.now()
-        );
-        
-        double weekRevenue = weekOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotal)
-                .reduce(0.0, Double::sum);
+        double weekRevenue = weekDays.resultNow().stream()
+                .mapToDouble(VendorDailyStats::getRevenue)
+                .sum();
         
         stats.setWeekRevenue(weekRevenue);
         
@@ -313,16 +351,21 @@ public class VendorAnalyticsService {
     public List<VendorAnalyticsResponse.TopSellingItem> getTopSellingItems( int limit) {
         Vendor vendor = vendorService.currentVendor();
         
-        ZonedDateTime startDate = ZonedDateTime.now().minusDays(30);
-        List<Order> orders = orderRepository.findByVendorAndCreatedAtBetween(
-                vendor,
+        LocalDate startDate = LocalDate.now().minusDays(30);
+        return toTopSellingItems(topSellingItems(
+                vendor.getUid(),
                 startDate, 
-                ZonedDateTime.now()
-        );
-        
-        return getTopSellingItems(vendor.getUid(), orders).stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+                LocalDate.now(),
+                limit
+        ));
+    }
+
+    /**
+     * From the in memory tracker when it covers the period, otherwise from the item rollup
+     */
+    private List<ItemSalesTotals> topSellingItems(UUID vendorUid, LocalDate from, LocalDate to, int limit) {
+        return topSellingItemsTracker.topItems(vendorUid, from, to, limit)
+                .orElseGet(() -> itemDailyStatsRepository.findTopSellingItems(vendorUid, from, to, Limit.of(limit)));
     }
 
     /**
@@ -331,14 +374,15 @@ public class VendorAnalyticsService {
     public List<VendorAnalyticsResponse.RevenueData> getRevenueByPeriod( String period) {
         Vendor vendor = vendorService.currentVendor();
         
-        ZonedDateTime startDate = calculateStartDate(period);
-        List<Order> orders = orderRepository.findByVendorAndCreatedAtBetween(
-                vendor,
-                startDate, 
-                ZonedDateTime.now()
-        );
+        Periods periods = Periods.of(period, LocalDate.now());
+        VendorMetricsAccumulator metrics = new VendorMetricsAccumulator(periods.from(), periods.to());
+        addDays(metrics, dailyStatsRepository.findByVendorUidAndDayBetweenOrderByDay(
+                vendor.getUid(),
+                periods.from(),
+                periods.to()
+        ));
         
-        return generateDailyRevenue(orders, period).stream()
+        return generateDailyRevenue(metrics, period).stream()
                 .map(data -> new VendorAnalyticsResponse.RevenueData(
                         data.getDate(),
                         data.getRevenue()
@@ -348,29 +392,27 @@ public class VendorAnalyticsService {
 
 
 
-    private ZonedDateTime calculateStartDate(String timeRange) {
+    private static int periodDays(String timeRange) {
         switch (timeRange.toLowerCase()) {
-            case "week":
-                return ZonedDateTime.now().minusDays(7);
             case "month":
-                return ZonedDateTime.now().minusDays(30);
+                return 30;
             case "year":
-                return ZonedDateTime.now().minusDays(365);
+                return 365;
             default:
-                return ZonedDateTime.now().minusDays(7);
+                return 7;
         }
     }
 
-    private ZonedDateTime calculatePreviousStartDate(String timeRange) {
-        switch (timeRange.toLowerCase()) {
-            case "week":
-                return ZonedDateTime.now().minusDays(14);
-            case "month":
-                return ZonedDateTime.now().minusDays(60);
-            case "year":
-                return ZonedDateTime.now().minusDays(730);
-            default:
-                return ZonedDateTime.now().minusDays(14);
+    /**
+     * Whole days of a time range ending today and as many days right before them. Both
+     * periods have the same length, otherwise growth compares 8 days against 7.
+     */
+    record Periods(LocalDate from, LocalDate to, LocalDate previousFrom, LocalDate previousTo) {
+
+        static Periods of(String timeRange, LocalDate today) {
+            int days = periodDays(timeRange);
+            LocalDate from = today.minusDays(days - 1);
+            return new Periods(from, today, from.minusDays(days), from.minusDays(1));
         }
     }
-}
\ No newline at end of file
+}
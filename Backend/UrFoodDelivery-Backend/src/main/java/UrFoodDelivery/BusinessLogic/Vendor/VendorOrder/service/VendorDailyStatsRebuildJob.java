@@ -0,0 +1,137 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.HyperLogLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds the daily rollups from the orders, one vendor per transaction so each
+ * statement only covers that vendor's orders. Runs at startup when a rollup is empty,
+ * or every startup with analytics.rollup.rebuild-on-startup.
+ */
+@Slf4j
+@Component
+public class VendorDailyStatsRebuildJob {
+
+    private static final String SELECT_VENDORS =
+            "select uid from vendor where uid > ? order by uid limit ?";
+
+    private static final String[] DELETE_VENDOR = {
+            "delete from vendor_daily_stats where vendor_uid = ?",
+            "delete from vendor_item_daily_stats where vendor_uid = ?",
+            "delete from vendor_daily_customer_sketch where vendor_uid = ?"
+    };
+
+    private static final String REBUILD_DAILY =
+            "insert into vendor_daily_stats (vendor_uid, day, completed_orders, revenue, cancelled_orders) " +
+            "select vendor_uid, date(created_at), sum(status = ?), sum(case when status = ? then total else 0 end), " +
+            "sum(status = ?) " +
+            "from all_orders where vendor_uid = ? and status in (?, ?) group by vendor_uid, date(created_at)";
+
+    private static final String REBUILD_ITEMS =
+            "insert into vendor_item_daily_stats (vendor_uid, day, menu_food_uid, name, quantity, revenue) " +
+            "select o.vendor_uid, date(o.created_at), i.menu_food_uid, max(f.name), sum(i.quantity), sum(i.price * i.quantity) " +
+            "from order_item i join all_orders o on o.uid = i.order_uid join menu_food f on f.uid = i.menu_food_uid " +
+            "where o.vendor_uid = ? and o.status = ? group by o.vendor_uid, date(o.created_at), i.menu_food_uid";
+
+    private static final String SELECT_CUSTOMERS =
+            "select distinct date(created_at), student_uid from all_orders where vendor_uid = ?";
+
+    private static final String INSERT_CUSTOMER_SKETCH =
+            "insert into vendor_daily_customer_sketch (vendor_uid, day, registers) values (?, ?, ?)";
+
+    //status is stored as its ordinal
+    private static final int COMPLETED = OrderStatus.COMPLETED.ordinal();
+
+    private static final int CANCELLED = OrderStatus.CANCELLED.ordinal();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${analytics.rollup.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${analytics.rollup.rebuild-chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${analytics.rollup.rebuild-pause-ms:50}")
+    private long pause;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() {
+        try {
+            if (rebuildOnStartup || isEmpty("vendor_daily_stats") || isEmpty("vendor_daily_customer_sketch"))
+                rebuild();
+        } catch (Exception es) {
+            log.error("Vendor daily stats rebuild failed", es);
+        }
+    }
+
+    private boolean isEmpty(String table) {
+        Integer rows = jdbcTemplate.queryForObject("select count(*) from (select 1 from " + table + " limit 1) s", Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    public void rebuild() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        byte[] after = new byte[16];
+        int vendors = 0;
+        while (true) {
+            List<byte[]> chunk = jdbcTemplate.queryForList(SELECT_VENDORS, byte[].class, after, chunkSize);
+            for (byte[] vendorUid : chunk) {
+                transactionTemplate.executeWithoutResult(status -> rebuildVendor(vendorUid));
+                vendors++;
+            }
+            if (chunk.size() < chunkSize)
+                break;
+            after = chunk.get(chunk.size() - 1);
+            try {
+                TimeUnit.MILLISECONDS.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.info("Rebuilt daily stats of {} vendors", vendors);
+    }
+
+    private void rebuildVendor(byte[] vendorUid) {
+        for (String delete : DELETE_VENDOR)
+            jdbcTemplate.update(delete, (Object) vendorUid);
+        jdbcTemplate.update(REBUILD_DAILY, COMPLETED, COMPLETED, CANCELLED, vendorUid, COMPLETED, CANCELLED);
+        jdbcTemplate.update(REBUILD_ITEMS, vendorUid, COMPLETED);
+
+        //the sketches are computed here, one per day the vendor had orders
+        Map<LocalDate, HyperLogLog> sketches = new HashMap<>();
+        jdbcTemplate.query(SELECT_CUSTOMERS, rs -> {
+            ByteBuffer studentUid = ByteBuffer.wrap(rs.getBytes(2));
+            sketches.computeIfAbsent(rs.getDate(1).toLocalDate(), day -> new HyperLogLog())
+                    .add(new UUID(studentUid.getLong(), studentUid.getLong()));
+        }, (Object) vendorUid);
+        List<Object[]> rows = sketches.entrySet().stream()
+                .map(entry -> new Object[]{vendorUid, Date.valueOf(entry.getKey()), entry.getValue().toBytes()})
+                .toList();
+        if (!rows.isEmpty())
+            jdbcTemplate.batchUpdate(INSERT_CUSTOMER_SKETCH, rows);
+    }
+}
@@ -0,0 +1,96 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.HyperLogLog;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.MyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Applies an order's move into or out of COMPLETED / CANCELLED to the daily rollups,
+ * in the transaction that changed the order, and adds the customer of a new order to
+ * the day's customer sketch. Orders are counted on the day they were created, like the
+ * analytics always did.
+ */
+@Component
+public class VendorDailyStatsUpdater {
+
+    private static final String UPSERT_DAILY =
+            "insert into vendor_daily_stats (vendor_uid, day, completed_orders, revenue, cancelled_orders) " +
+            "values (?, ?, ?, ?, ?) on duplicate key update " +
+            "completed_orders = completed_orders + values(completed_orders), revenue = revenue + values(revenue), " +
+            "cancelled_orders = cancelled_orders + values(cancelled_orders)";
+
+    private static final String UPSERT_ITEM =
+            "insert into vendor_item_daily_stats (vendor_uid, day, menu_food_uid, name, quantity, revenue) " +
+            "values (?, ?, ?, ?, ?, ?) on duplicate key update " +
+            "name = values(name), quantity = quantity + values(quantity), revenue = revenue + values(revenue)";
+
+    //raises the one register of the customer in place, registers are 1-based for substring
+    private static final String UPSERT_CUSTOMER =
+            "insert into vendor_daily_customer_sketch (vendor_uid, day, registers) values (?, ?, ?) " +
+            "on duplicate key update registers = if(ascii(substring(registers, ?, 1)) < ?, " +
+            "insert(registers, ?, 1, char(? using binary)), registers)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        LocalDate day = dayOf(event);
+        if (event.getType() == OrderLifecycleEvent.Type.CREATED)
+            addCustomer(event, day);
+
+        if (event.getStatus() == event.getPreviousStatus())
+            return;
+
+        apply(event, day, event.getPreviousStatus(), -1);
+        apply(event, day, event.getStatus(), 1);
+    }
+
+    private void apply(OrderLifecycleEvent event, LocalDate day, OrderStatus status, int sign) {
+        if (status != OrderStatus.COMPLETED && status != OrderStatus.CANCELLED)
+            return;
+
+        byte[] vendorUid = MyUtils.uuidBytes(event.getVendorId());
+
+        if (status == OrderStatus.CANCELLED) {
+            jdbcTemplate.update(UPSERT_DAILY, vendorUid, day, 0, 0.0, sign);
+            return;
+        }
+
+        jdbcTemplate.update(UPSERT_DAILY, vendorUid, day, sign, sign * event.getTotal(), 0);
+
+        List<Object[]> items = event.getItems().stream()
+                .map(item -> new Object[]{vendorUid, day, MyUtils.uuidBytes(item.getMenuFoodId()), item.getName(),
+                        sign * item.getQuantity(), sign * item.getQuantity() * item.getPrice()})
+                .toList();
+        if (!items.isEmpty())
+            jdbcTemplate.batchUpdate(UPSERT_ITEM, items);
+    }
+
+    private void addCustomer(OrderLifecycleEvent event, LocalDate day) {
+        HyperLogLog sketch = new HyperLogLog();
+        sketch.add(event.getStudentId());
+        int position = HyperLogLog.register(event.getStudentId()) + 1;
+        int rank = HyperLogLog.rank(event.getStudentId());
+        jdbcTemplate.update(UPSERT_CUSTOMER, MyUtils.uuidBytes(event.getVendorId()), day, sketch.toBytes(),
+                position, rank, position, rank);
+    }
+
+    static LocalDate dayOf(OrderLifecycleEvent event) {
+        ZonedDateTime createdAt = event.getOrderCreatedAt() != null ? event.getOrderCreatedAt() : event.getOccurredAt();
+        return createdAt.withZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+    }
+}
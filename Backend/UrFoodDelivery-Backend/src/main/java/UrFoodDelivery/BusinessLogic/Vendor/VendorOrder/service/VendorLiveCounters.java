@@ -0,0 +1,206 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorDailyStats;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorStatusCount;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorDailyStatsRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per vendor counters behind the dashboard: orders in progress by status and the
+ * completed orders and revenue of today and yesterday, answered without a query. They
+ * are striped adders moved by the order transitions committed on this node, and every
+ * node rebuilds them from the orders and the daily rollup at startup and on
+ * vendor.live-counters.reconcile-interval-ms, which also brings in the transitions
+ * other nodes committed.
+ */
+@Slf4j
+@Component
+public class VendorLiveCounters {
+
+    private static final List<OrderStatus> ACTIVE_STATUSES = List.of(
+            OrderStatus.PENDING,
+            OrderStatus.RECEIVED,
+            OrderStatus.PREPARING,
+            OrderStatus.READY,
+            OrderStatus.OUT_FOR_DELIVERY
+    );
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private VendorDailyStatsRepository dailyStatsRepository;
+
+    //replaced as a whole by each reconcile, null until the first one
+    private volatile Map<UUID, VendorCounters> vendors;
+
+    /**
+     * Counters of a vendor, empty until they were first built from the database
+     */
+    public Optional<Snapshot> snapshot(UUID vendorUid) {
+        Map<UUID, VendorCounters> current = vendors;
+        if (current == null)
+            return Optional.empty();
+
+        VendorCounters counters = current.get(vendorUid);
+        if (counters == null)
+            return Optional.of(new Snapshot(0, 0, 0.0, 0, 0.0));
+
+        LocalDate today = LocalDate.now();
+        DayCounters todayCounters = counters.days.get(today);
+        DayCounters yesterdayCounters = counters.days.get(today.minusDays(1));
+        return Optional.of(new Snapshot(
+                counters.activeOrders(),
+                todayCounters != null ? todayCounters.completed.sum() : 0,
+                todayCounters != null ? todayCounters.revenue.sum() : 0.0,
+                yesterdayCounters != null ? yesterdayCounters.completed.sum() : 0,
+                yesterdayCounters != null ? yesterdayCounters.revenue.sum() : 0.0));
+    }
+
+    /**
+     * Orders of a vendor currently in an in progress status, empty until built
+     */
+    public Optional<Long> activeOrders(UUID vendorUid, OrderStatus status) {
+        Map<UUID, VendorCounters> current = vendors;
+        if (current == null)
+            return Optional.empty();
+        VendorCounters counters = current.get(vendorUid);
+        return Optional.of(counters != null ? counters.active[status.ordinal()].sum() : 0L);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        Map<UUID, VendorCounters> current = vendors;
+        if (current == null || event.getStatus() == event.getPreviousStatus())
+            return;
+
+        VendorCounters counters = current.computeIfAbsent(event.getVendorId(), uid -> new VendorCounters());
+        if (event.getPreviousStatus() != null && ACTIVE_STATUSES.contains(event.getPreviousStatus()))
+            counters.active[event.getPreviousStatus().ordinal()].decrement();
+        if (ACTIVE_STATUSES.contains(event.getStatus()))
+            counters.active[event.getStatus().ordinal()].increment();
+
+        //completed orders count on the day the order was created, like the rollup
+        boolean completed = event.getStatus() == OrderStatus.COMPLETED;
+        boolean wasCompleted = event.getPreviousStatus() == OrderStatus.COMPLETED;
+        if (completed == wasCompleted)
+            return;
+
+        DayCounters day = counters.day(VendorDailyStatsUpdater.dayOf(event), LocalDate.now());
+        if (day == null)
+            return;
+        int sign = completed ? 1 : -1;
+        day.completed.add(sign);
+        day.revenue.add(sign * event.getTotal());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Rebuilds every counter from the database and swaps them in at once. Transitions
+     * committed while the queries run can be missed until the next reconcile.
+     */
+    @Scheduled(fixedDelayString = "${vendor.live-counters.reconcile-interval-ms:30000}",
+            initialDelayString = "${vendor.live-counters.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        try {
+            LocalDate today = LocalDate.now();
+            Map<UUID, VendorCounters> rebuilt = new ConcurrentHashMap<>();
+
+            for (VendorStatusCount count : orderRepository.countPerVendorAndStatus(ACTIVE_STATUSES))
+                rebuilt.computeIfAbsent(count.getVendorUid(), uid -> new VendorCounters())
+                        .active[count.getStatus().ordinal()].add(count.getOrders());
+
+            for (VendorDailyStats stats : dailyStatsRepository.findByDayGreaterThanEqual(today.minusDays(1))) {
+                DayCounters day = rebuilt.computeIfAbsent(stats.getVendorUid(), uid -> new VendorCounters())
+                        .day(stats.getDay(), today);
+                if (day != null) {
+                    day.completed.add(stats.getCompletedOrders());
+                    day.revenue.add(stats.getRevenue());
+                }
+            }
+
+            vendors = rebuilt;
+            log.debug("Reconciled live counters of {} vendors", rebuilt.size());
+        } catch (Exception e) {
+            log.error("Live counters reconcile failed", e);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Snapshot {
+        private long activeOrders;
+        private long todayCompletedOrders;
+        private double todayRevenue;
+        private long yesterdayCompletedOrders;
+        private double yesterdayRevenue;
+    }
+
+    static class VendorCounters {
+
+        final LongAdder[] active = new LongAdder[OrderStatus.values().length];
+
+        //today and yesterday only
+        final Map<LocalDate, DayCounters> days = new ConcurrentHashMap<>(4);
+
+        VendorCounters() {
+            for (int i = 0; i < active.length; i++)
+                active[i] = new LongAdder();
+        }
+
+        private long activeOrders() {
+            long total = 0;
+            for (OrderStatus status : ACTIVE_STATUSES)
+                total += active[status.ordinal()].sum();
+            return total;
+        }
+
+        /**
+         * Counters of a day, null for days before yesterday
+         */
+        DayCounters day(LocalDate day, LocalDate today) {
+            LocalDate yesterday = today.minusDays(1);
+            if (day.isBefore(yesterday))
+                return null;
+
+            DayCounters counters = days.get(day);
+            if (counters != null)
+                return counters;
+
+            days.keySet().removeIf(known -> known.isBefore(yesterday));
+            return days.computeIfAbsent(day, d -> new DayCounters());
+        }
+    }
+
+    static class DayCounters {
+
+        final LongAdder completed = new LongAdder();
+
+        final DoubleAdder revenue = new DoubleAdder();
+    }
+}
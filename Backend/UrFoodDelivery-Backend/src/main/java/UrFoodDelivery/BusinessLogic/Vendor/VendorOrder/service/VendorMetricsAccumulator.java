@@ -0,0 +1,140 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Vendor metrics of a period collected in one pass into primitive arrays, fed either one
+ * order at a time or with rows that already count several orders. Nothing is allocated
+ * per add, the revenue of completed orders also goes to its day and day of week.
+ */
+public class VendorMetricsAccumulator {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private static final int COMPLETED = OrderStatus.COMPLETED.ordinal();
+
+    //epoch day 0 was a thursday
+    private static final int EPOCH_DAY_OF_WEEK = DayOfWeek.THURSDAY.ordinal();
+
+    private final long firstDay;
+
+    private final long[] statusOrders = new long[STATUSES.length];
+
+    private final double[] statusRevenue = new double[STATUSES.length];
+
+    private final long[] dayOrders;
+
+    private final double[] dayRevenue;
+
+    private final double[] dayOfWeekRevenue = new double[DayOfWeek.values().length];
+
+    private long totalOrders;
+
+    /**
+     * Accumulator with day buckets from firstDay to lastDay inclusive, orders of other days
+     * still count in the totals
+     */
+    public VendorMetricsAccumulator(LocalDate firstDay, LocalDate lastDay) {
+        this.firstDay = firstDay.toEpochDay();
+        int days = (int) Math.max(0, lastDay.toEpochDay() - this.firstDay + 1);
+        this.dayOrders = new long[days];
+        this.dayRevenue = new double[days];
+    }
+
+    public void addOrder(OrderStatus status, double total, LocalDate day) {
+        add(status.ordinal(), 1, total, day.toEpochDay());
+    }
+
+    /**
+     * Several orders of one status created on the same day
+     */
+    public void addOrders(OrderStatus status, long orders, double revenue, LocalDate day) {
+        add(status.ordinal(), orders, revenue, day.toEpochDay());
+    }
+
+    /**
+     * Several orders of one status without a day, like the totals of orders in progress
+     */
+    public void addOrders(OrderStatus status, long orders, double revenue) {
+        add(status.ordinal(), orders, revenue, Long.MIN_VALUE);
+    }
+
+    /**
+     * Core of the adds for callers that already hold primitives, epochDay Long.MIN_VALUE
+     * for none
+     */
+    public void add(int status, long orders, double revenue, long epochDay) {
+        statusOrders[status] += orders;
+        statusRevenue[status] += revenue;
+        totalOrders += orders;
+        if (status != COMPLETED || epochDay == Long.MIN_VALUE)
+            return;
+
+        long index = epochDay - firstDay;
+        if (index >= 0 && index < dayOrders.length) {
+            dayOrders[(int) index] += orders;
+            dayRevenue[(int) index] += revenue;
+        }
+        dayOfWeekRevenue[(int) Math.floorMod(epochDay + EPOCH_DAY_OF_WEEK, 7L)] += revenue;
+    }
+
+    public long getOrders(OrderStatus status) {
+        return statusOrders[status.ordinal()];
+    }
+
+    public long getTotalOrders() {
+        return totalOrders;
+    }
+
+    public long getCompletedOrders() {
+        return statusOrders[COMPLETED];
+    }
+
+    public double getCompletedRevenue() {
+        return statusRevenue[COMPLETED];
+    }
+
+    public double getAverageOrderValue() {
+        return getCompletedOrders() > 0 ? getCompletedRevenue() / getCompletedOrders() : 0;
+    }
+
+    /**
+     * Share of all orders that completed, in percent
+     */
+    public double getCompletionRate() {
+        return totalOrders > 0 ? getCompletedOrders() * 100.0 / totalOrders : 0;
+    }
+
+    /**
+     * Completed orders of a day, 0 outside the buckets
+     */
+    public long getDayOrders(LocalDate day) {
+        long index = day.toEpochDay() - firstDay;
+        return index >= 0 && index < dayOrders.length ? dayOrders[(int) index] : 0;
+    }
+
+    /**
+     * Completed revenue of a day, 0 outside the buckets
+     */
+    public double getDayRevenue(LocalDate day) {
+        long index = day.toEpochDay() - firstDay;
+        return index >= 0 && index < dayRevenue.length ? dayRevenue[(int) index] : 0;
+    }
+
+    public double getDayOfWeekRevenue(DayOfWeek dayOfWeek) {
+        return dayOfWeekRevenue[dayOfWeek.ordinal()];
+    }
+
+    /**
+     * Growth from previous to current in percent rounded to two decimals, 100 when
+     * there was nothing before
+     */
+    public static double growth(double current, double previous) {
+        if (previous == 0)
+            return current > 0 ? 100.0 : 0.0;
+        return Math.round((current - previous) / previous * 10000) / 100.0;
+    }
+}
@@ -1,25 +1,26 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
 
-import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderPage;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service.OrderPager;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service.OrderResponseAssembler;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepository;
 
-import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.VendorRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services.VendorService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -37,11 +38,17 @@ public class VendorOrderService {
     @Autowired
     private VendorService vendorService;
 
+    @Autowired
+    private OrderResponseAssembler orderResponseAssembler;
+
+    @Autowired
+    private OrderPager orderPager;
+
     /**
      * Get all active orders for a vendor (not completed or cancelled)
      */
     public List<OrderResponse> getVendorActiveOrders() {
-        Vendor vendor = vendorService.currentVendor();
+        UUID vendorUid = vendorService.currentVendorUid();
         
         List<OrderStatus> activeStatuses = List.of(
                 OrderStatus.PENDING,
@@ -51,93 +58,67 @@ public class VendorOrderService {
                 OrderStatus.OUT_FOR_DELIVERY
         );
 
-        List<Order> orders = orderRepository.findByVendorAndStatusInOrderByCreatedAtDesc(
-                vendor,
-                activeStatuses
+        List<OrderResponse> orders = orderRepository.findVendorOrdersPage(
+                vendorUid,
+                activeStatuses,
+                null, null, null, null,
+                Limit.unlimited()
         );
 
-        log.info("Retrieved {} active orders for vendor: {}", orders.size(), vendor.getUid());
+        log.info("Retrieved {} active orders for vendor: {}", orders.size(), vendorUid);
         
-        return orders.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return orderResponseAssembler.attachDetails(orders);
     }
 
     /**
      * Get all orders for a vendor with optional filtering
      */
-    public List<OrderResponse> getVendorOrders( String status, String startDate, String endDate) {
-        Vendor vendor = vendorService.currentVendor();
+    public OrderPage getVendorOrders( String status, String startDate, String endDate, String cursor, Integer size) {
+        UUID vendorUid = vendorService.currentVendorUid();
         
-        List<Order> orders;
-        
-        if (status != null && !status.isEmpty()) {
-            OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
-            orders = orderRepository.findByVendorAndStatus(vendor, orderStatus);
-        } else {
-            orders = orderRepository.findByVendorOrderByCreatedAtDesc(vendor);
-        }
+        List<OrderStatus> statuses = status != null && !status.isEmpty()
+                ? List.of(OrderStatus.valueOf(status.toUpperCase()))
+                : List.of(OrderStatus.values());
 
-        // Optional: Filter by date range
+        // Optional: Filter by date range, done by the query
+        ZonedDateTime start = null;
+        ZonedDateTime end = null;
         if (startDate != null && endDate != null) {
-            ZonedDateTime start = ZonedDateTime.parse(startDate);
-            ZonedDateTime end = ZonedDateTime.parse(endDate);
-            orders = orders.stream()
-                    .filter(o -> o.getCreatedAt().isAfter(start) && o.getCreatedAt().isBefore(end))
-                    .collect(Collectors.toList());
+            start = ZonedDateTime.parse(startDate);
+            end = ZonedDateTime.parse(endDate);
         }
 
-        return orders.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return findVendorOrdersPage(vendorUid, statuses, start, end, cursor, size);
     }
 
     /**
      * Get orders by specific status
      */
-    public List<OrderResponse> getVendorOrdersByStatus( String status) {
-        Vendor vendor = vendorService.currentVendor();
+    public OrderPage getVendorOrdersByStatus( String status, String cursor, Integer size) {
+        UUID vendorUid = vendorService.currentVendorUid();
         OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
         
-        List<Order> orders = orderRepository.findByVendorAndStatus(vendor, orderStatus);
-        
-        return orders.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return findVendorOrdersPage(vendorUid, List.of(orderStatus), null, null, cursor, size);
     }
 
     /**
      * Get completed orders
      */
-    public List<OrderResponse> getVendorCompletedOrders() {
-        Vendor vendor = vendorService.currentVendor();
+    public OrderPage getVendorCompletedOrders(String cursor, Integer size) {
+        UUID vendorUid = vendorService.currentVendorUid();
         
         List<OrderStatus> completedStatuses = List.of(
                 OrderStatus.COMPLETED,
                 OrderStatus.CANCELLED
         );
 
-        List<Order> orders = orderRepository.findByVendorAndStatusInOrderByCreatedAtDesc(
-                vendor,
-                completedStatuses
-        );
-
-        return orders.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return findVendorOrdersPage(vendorUid, completedStatuses, null, null, cursor, size);
     }
 
-
-
-    /**
-     * Map Order entity to OrderResponse DTO
-     */
-    private OrderResponse mapToResponse(Order order) {
-        OrderResponse response = new OrderResponse();
-
-        BeanUtils.copyProperties(order,response);
-
-        return response;
+    private OrderPage findVendorOrdersPage(UUID vendorUid, List<OrderStatus> statuses,
+                                           ZonedDateTime from, ZonedDateTime to, String cursor, Integer size) {
+        return orderPager.page(cursor, size, (cursorCreatedAt, cursorUid, limit) ->
+                orderRepository.findVendorOrdersPage(vendorUid, statuses, from, to, cursorCreatedAt, cursorUid, limit));
     }
 }
 
@@ -0,0 +1,66 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.streams;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorDailyAggregate;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Interactive queries on the vendor daily aggregates. Returns empty while the streams
+ * app is starting or rebalancing so callers can fall back to the database.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "analytics.streams.enabled", havingValue = "true")
+public class VendorAnalyticsStore {
+
+    @Autowired
+    private StreamsBuilderFactoryBean streamsBuilderFactoryBean;
+
+    /**
+     * Aggregates of every day from from to to inclusive, days without orders are empty
+     */
+    public Optional<Map<LocalDate, VendorDailyAggregate>> getDailyAggregates(UUID vendorId, LocalDate from, LocalDate to) {
+        KafkaStreams streams = streamsBuilderFactoryBean.getKafkaStreams();
+        if (streams == null || streams.state() != KafkaStreams.State.RUNNING)
+            return Optional.empty();
+
+        Map<LocalDate, VendorDailyAggregate> days = new TreeMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1))
+            days.put(day, new VendorDailyAggregate());
+
+        try {
+            ReadOnlyKeyValueStore<String, VendorDailyAggregate> store = streams.store(StoreQueryParameters.fromNameAndType(
+                    VendorAnalyticsStreamsConfig.VENDOR_DAILY_STORE, QueryableStoreTypes.keyValueStore()));
+
+            try (KeyValueIterator<String, VendorDailyAggregate> range = store.range(
+                    VendorAnalyticsStreamsConfig.dailyKey(vendorId, from),
+                    VendorAnalyticsStreamsConfig.dailyKey(vendorId, to))) {
+                while (range.hasNext()) {
+                    KeyValue<String, VendorDailyAggregate> entry = range.next();
+                    LocalDate day = LocalDate.parse(entry.key.substring(entry.key.indexOf('|') + 1));
+                    days.put(day, entry.value);
+                }
+            }
+        } catch (InvalidStateStoreException e) {
+            log.debug("Vendor analytics store not queryable yet", e);
+            return Optional.empty();
+        }
+        return Optional.of(days);
+    }
+}
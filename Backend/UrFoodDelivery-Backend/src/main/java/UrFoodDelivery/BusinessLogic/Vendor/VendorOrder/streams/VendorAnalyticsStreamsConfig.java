@@ -0,0 +1,106 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.streams;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorDailyAggregate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KTable;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps per vendor, per day order totals in a local state store, fed by the order-events
+ * topic. The compacted topic is read as a table of the latest event of every order, so a
+ * status change moves the order between buckets instead of counting it twice.
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "analytics.streams.enabled", havingValue = "true")
+public class VendorAnalyticsStreamsConfig {
+
+    public static final String VENDOR_DAILY_STORE = "vendor-daily-aggregates";
+
+    private static final String ORDER_LATEST_STORE = "order-latest-events";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${orders.events.topic:order-events}")
+    private String orderEventsTopic;
+
+    @Value("${analytics.streams.application-id:urfood-vendor-analytics}")
+    private String applicationId;
+
+    @Value("${analytics.streams.processing-guarantee:exactly_once_v2}")
+    private String processingGuarantee;
+
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration vendorAnalyticsStreamsConfiguration() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, processingGuarantee);
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    @Bean
+    public KTable<String, VendorDailyAggregate> vendorDailyAggregates(StreamsBuilder builder) {
+        JsonSerde<OrderLifecycleEvent> eventSerde = jsonSerde(OrderLifecycleEvent.class);
+        JsonSerde<VendorDailyAggregate> aggregateSerde = jsonSerde(VendorDailyAggregate.class);
+
+        return builder.table(orderEventsTopic, Consumed.with(Serdes.String(), eventSerde),
+                        Materialized.as(ORDER_LATEST_STORE))
+                .groupBy((orderId, order) -> KeyValue.pair(dailyKey(order.getVendorId(), dayOf(order)), order),
+                        Grouped.with(Serdes.String(), eventSerde))
+                .aggregate(VendorDailyAggregate::new,
+                        (key, order, aggregate) -> aggregate.add(order),
+                        (key, order, aggregate) -> aggregate.subtract(order),
+                        Materialized.<String, VendorDailyAggregate, KeyValueStore<Bytes, byte[]>>as(VENDOR_DAILY_STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(aggregateSerde));
+    }
+
+    /**
+     * Store key of a vendor's day, iso dates sort like the days so the days of a period
+     * are one range scan
+     */
+    public static String dailyKey(UUID vendorId, LocalDate day) {
+        return vendorId + "|" + day;
+    }
+
+    private static LocalDate dayOf(OrderLifecycleEvent order) {
+        ZonedDateTime createdAt = order.getOrderCreatedAt() != null ? order.getOrderCreatedAt() : order.getOccurredAt();
+        return createdAt.withZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private <T> JsonSerde<T> jsonSerde(Class<T> type) {
+        return new JsonSerde<>(type, objectMapper).noTypeInfo().ignoreTypeHeaders();
+    }
+}
@@ -1,11 +1,13 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.application;
 
 
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthenticatedAccountCache;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.AccountRole;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Service.AccountService;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.events.VendorChangedEvent;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.VendorRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.entity.VendorLocation;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.repository.VendorLocationRepository;
@@ -13,6 +15,7 @@ import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.model.ResponseFormatWithO
 import jakarta.validation.Valid;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -43,6 +46,12 @@ public class VendorApplicationService {
     @Autowired
     private VendorRepository vendorRepository;
 
+    @Autowired
+    private AuthenticatedAccountCache authenticatedAccountCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public ResponseEntity<ResponseFormatWithObject> applyAsVendor(@Valid VendorApplicationRequest vendorApplicationRequest) {
 
         Account currUser = accountService.currentAccount();
@@ -70,6 +79,7 @@ public class VendorApplicationService {
         currUser.setRole(AccountRole.ROLE_VENDOR);
 
         accountRepository.saveAndFlush(currUser);
+        authenticatedAccountCache.invalidate(currUser.getUsername());
 
         return ResponseEntity.ok(ResponseFormatWithObject.builder()
                         .data(vendorApplication)
@@ -141,6 +151,8 @@ public class VendorApplicationService {
         vendor.setCreatedOn(ZonedDateTime.now());
 
         vendorRepository.saveAndFlush(vendor);
+        authenticatedAccountCache.invalidate(vendorAccount.getUsername());
+        eventPublisher.publishEvent(VendorChangedEvent.of(vendor));
 
         return ResponseEntity.ok(ResponseFormatWithObject.builder()
                 .data(vendorApplication)
@@ -170,6 +182,7 @@ public class VendorApplicationService {
 
         accountRepository.saveAndFlush(vendorAccount);
         vendorApplicationRepository.saveAndFlush(vendorApplication);
+        authenticatedAccountCache.invalidate(vendorAccount.getUsername());
 
         return ResponseEntity.ok(ResponseFormatWithObject.builder()
                 .data(vendorApplication)
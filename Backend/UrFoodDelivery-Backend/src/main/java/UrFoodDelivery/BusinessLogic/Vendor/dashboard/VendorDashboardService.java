@@ -1,21 +1,26 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.dashboard;
 
 
-import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorDailyStats;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorDailyStatsRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service.VendorLiveCounters;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.events.VendorChangedEvent;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.VendorRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services.VendorQueryFanout;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services.VendorService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.concurrent.Future;
 
 @Slf4j
 @Service
@@ -25,6 +30,9 @@ public class VendorDashboardService {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private VendorDailyStatsRepository dailyStatsRepository;
+
     @Autowired
     private AccountRepository userRepository;
 
@@ -35,66 +43,30 @@ public class VendorDashboardService {
     @Autowired
     private VendorService vendorService;
 
+    @Autowired
+    private VendorQueryFanout queryFanout;
+
+    @Autowired
+    private VendorLiveCounters liveCounters;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Get comprehensive dashboard statistics
      */
     public VendorDashboardStatsResponse getDashboardStats() {
         Vendor vendor = vendorService.currentVendor();
 
-        ZonedDateTime todayStart = ZonedDateTime.now().with(LocalDate.now().atStartOfDay());
-        ZonedDateTime todayEnd = ZonedDateTime.now();
-        ZonedDateTime yesterdayStart = todayStart.minusDays(1);
-        ZonedDateTime yesterdayEnd = todayStart;
-
-        // Today's orders
-        List<Order> todayOrders = orderRepository.findByVendorAndCreatedAtBetween(
-                vendor,
-                todayStart,
-                todayEnd
-        );
-
-        // Yesterday's orders for comparison
-        List<Order> yesterdayOrders = orderRepository.findByVendorAndCreatedAtBetween(
-                vendor,
-                yesterdayStart,
-                yesterdayEnd
-        );
-
-        // Calculate today's completed orders
-        long todayCompletedCount = todayOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .count();
-
-        // Calculate yesterday's completed orders
-        long yesterdayCompletedCount = yesterdayOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .count();
-
-        // Today's revenue
-        double todayRevenue = todayOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotal)
-                .reduce(0.0, Double::sum);
-
-        // Yesterday's revenue
-        double yesterdayRevenue = yesterdayOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .map(Order::getTotal)
-                .reduce(0.0, Double::sum);
-
-        // Active orders (not completed or cancelled)
-        List<OrderStatus> activeStatuses = List.of(
-                OrderStatus.PENDING,
-                OrderStatus.RECEIVED,
-                OrderStatus.PREPARING,
-                OrderStatus.READY,
-                OrderStatus.OUT_FOR_DELIVERY
-        );
+        // Live counters, queried only until they were first built
+        VendorLiveCounters.Snapshot counters = liveCounters.snapshot(vendor.getUid())
+                .orElseGet(() -> queryCounters(vendor));
 
-        long activeOrdersCount = orderRepository.findByVendorAndStatusInOrderByCreatedAtDesc(
-                vendor,
-                activeStatuses
-        ).size();
+        long todayCompletedCount = counters.getTodayCompletedOrders();
+        long yesterdayCompletedCount = counters.getYesterdayCompletedOrders();
+        double todayRevenue = counters.getTodayRevenue();
+        double yesterdayRevenue = counters.getYesterdayRevenue();
+        long activeOrdersCount = counters.getActiveOrders();
 
         // Calculate growth percentages
         double todayGrowth = calculateGrowthPercentage(todayCompletedCount, yesterdayCompletedCount);
@@ -117,6 +89,40 @@ public class VendorDashboardService {
         return stats;
     }
 
+    private VendorLiveCounters.Snapshot queryCounters(Vendor vendor) {
+        LocalDate todayDate = LocalDate.now();
+
+        // The reads are independent, run them side by side
+        VendorQueryFanout.Batch batch = queryFanout.batch();
+
+        // Today's completed orders and revenue, one rollup row
+        Future<VendorDailyStats> todayStats = batch.submit(() -> dailyStats(vendor, todayDate));
+
+        // Yesterday's for comparison
+        Future<VendorDailyStats> yesterdayStats = batch.submit(() -> dailyStats(vendor, todayDate.minusDays(1)));
+
+        // Active orders (not completed or cancelled)
+        List<OrderStatus> activeStatuses = List.of(
+                OrderStatus.PENDING,
+                OrderStatus.RECEIVED,
+                OrderStatus.PREPARING,
+                OrderStatus.READY,
+                OrderStatus.OUT_FOR_DELIVERY
+        );
+
+        Future<Long> activeOrders = batch.submit(() -> orderRepository.countByVendorAndStatusIn(
+                vendor,
+                activeStatuses
+        ));
+
+        batch.join();
+        VendorDailyStats today = todayStats.resultNow();
+        VendorDailyStats yesterday = yesterdayStats.resultNow();
+        return new VendorLiveCounters.Snapshot(activeOrders.resultNow(),
+                today.getCompletedOrders(), today.getRevenue(),
+                yesterday.getCompletedOrders(), yesterday.getRevenue());
+    }
+
 
 
     /**
@@ -128,6 +134,7 @@ public class VendorDashboardService {
 
         vendor.setActive(isOpen);
         vendorRepository.save(vendor);
+        eventPublisher.publishEvent(VendorChangedEvent.of(vendor));
 
         log.info("Vendor {} status updated to: {}", vendor.getUid(), isOpen ? "OPEN" : "CLOSED");
 
@@ -139,6 +146,11 @@ public class VendorDashboardService {
         return response;
     }
 
+    private VendorDailyStats dailyStats(Vendor vendor, LocalDate day) {
+        return dailyStatsRepository.findById(new VendorDailyStats.Key(vendor.getUid(), day))
+                .orElseGet(() -> new VendorDailyStats(vendor.getUid(), day, 0, 0.0, 0));
+    }
+
     /**
      * Calculate growth percentage
      */
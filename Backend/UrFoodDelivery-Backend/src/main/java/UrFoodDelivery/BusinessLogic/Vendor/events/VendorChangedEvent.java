@@ -0,0 +1,35 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.events;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.entity.VendorLocation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Published when a vendor is created, opens or closes, or moves. Carries what in memory
+ * views of the vendors need so listeners do not read the vendor again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorChangedEvent {
+
+    private UUID vendorUid;
+
+    private boolean active;
+
+    //null without a location
+    private Double latitude;
+
+    private Double longitude;
+
+    public static VendorChangedEvent of(Vendor vendor) {
+        VendorLocation location = vendor.getVendorLocation();
+        return new VendorChangedEvent(vendor.getUid(), vendor.isActive(),
+                location != null ? location.getLatitude() : null,
+                location != null ? location.getLongitude() : null);
+    }
+}
@@ -4,7 +4,10 @@ package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositor
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +15,13 @@ import java.util.UUID;
 public interface VendorRepository extends JpaRepository<Vendor, UUID> {
     List<Vendor> findByActiveTrue();
 
+    //locations and accounts in the same select instead of one select each per vendor
+    @Query("select v from Vendor v left join fetch v.vendorLocation left join fetch v.vendorAccount where v.active = true")
+    List<Vendor> findActiveWithLocation();
+
+    @Query("select v from Vendor v left join fetch v.vendorLocation left join fetch v.vendorAccount where v.uid in :uids")
+    List<Vendor> findWithLocationByUidIn(@Param("uids") Collection<UUID> uids);
+
     Optional<Vendor> findByVendorAccount(Account account);
 
 }
@@ -0,0 +1,131 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.DeadlineExceededException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent reads behind a vendor dashboard at the same time, each on its own
+ * virtual thread in its own read-only transaction, so a page takes as long as its slowest
+ * query instead of their sum. A batch runs at most vendor.fanout.max-concurrent queries
+ * at once and all of them have to finish within vendor.fanout.timeout-ms.
+ * <p>
+ * Every query holds a pooled connection, so all batches together are also capped at
+ * vendor.fanout.max-connections. Keep it well below the Hikari pool size (10 by default):
+ * with open-in-view on, the request thread waiting in join() holds a connection of its
+ * own, and the rest of the application needs some too. A query that gets no permit
+ * before the deadline fails the batch with a 503 instead of waiting on the pool.
+ */
+@Component
+public class VendorQueryFanout {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${vendor.fanout.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${vendor.fanout.max-connections:4}")
+    private int maxConnections;
+
+    @Value("${vendor.fanout.timeout-ms:3000}")
+    private long timeout;
+
+    //shared by every batch
+    private Semaphore connections;
+
+    private ExecutorService executor;
+
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("vendor-fanout-", 0).factory());
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        connections = new Semaphore(maxConnections);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * New set of queries for one request, submit them all and then join
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    public class Batch {
+
+        private final Semaphore permits = new Semaphore(maxConcurrent);
+
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        private final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        /**
+         * Starts the query, its result is read with resultNow() once join returned.
+         * The query runs on another thread, resolve anything thread bound like the
+         * current vendor before submitting.
+         */
+        public <T> Future<T> submit(Supplier<T> query) {
+            Future<T> future = executor.submit(() -> {
+                permits.acquire();
+                try {
+                    if (!connections.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS))
+                        throw new DeadlineExceededException("No connection for dashboard queries within " + timeout + " ms");
+                    try {
+                        return readOnly.execute(status -> query.get());
+                    } finally {
+                        connections.release();
+                    }
+                } finally {
+                    permits.release();
+                }
+            });
+            futures.add(future);
+            return future;
+        }
+
+        /**
+         * Waits for every query until the deadline, counted from the start of the batch,
+         * a failure or timeout cancels the ones still running
+         */
+        public void join() {
+            try {
+                for (Future<?> future : futures)
+                    future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                cancel();
+                throw new DeadlineExceededException("Dashboard queries did not finish within " + timeout + " ms");
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for dashboard queries", e);
+            } catch (ExecutionException e) {
+                cancel();
+                if (e.getCause() instanceof RuntimeException cause)
+                    throw cause;
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private void cancel() {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+}
@@ -1,26 +1,32 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services;
 
 
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthenticatedAccount;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.Utils.MenuItemDto;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.Utils.VendorProfileDto;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.service.AdminService;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.settings.AdminSettings;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.Utils.DistanceFacade;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.Utils.GreatCircle;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.models.DistanceRequest;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.models.DistanceResult;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Service.AccountService;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.MenuItem;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.events.VendorChangedEvent;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.model.UpdateVendorRequest;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.MenuItemRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.VendorRepository;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.entity.VendorLocation;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.repository.VendorLocationRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.service.VendorSpatialIndex;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.model.ResponseFormatWithObject;
 import jakarta.validation.Valid;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authorization.AuthorizationDeniedException;
@@ -28,10 +34,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -56,17 +59,33 @@ public class VendorService {
     @Autowired
     private DistanceFacade distanceFacade;
 
+    @Autowired
+    private VendorSpatialIndex spatialIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${vendors.close.max-routed:20}")
+    private int maxRouted;
+
 
 
     public Vendor currentVendor()
     {
-        Account account = accountService.currentAccount();
-        if(account.getAppliedAsVendor()&&account.isApproved())
-        {
-            Optional<Vendor> optionalVendor = vendorRepository.findByVendorAccount(account);
-            if(optionalVendor.isPresent())
-                return optionalVendor.get();
-        }
+        Optional<Vendor> optionalVendor = vendorRepository.findById(currentVendorUid());
+        if(optionalVendor.isPresent())
+            return optionalVendor.get();
+        throw new AuthorizationDeniedException("Unable to Retireve Current Vendor");
+    }
+
+    /**
+     * Vendor uid of the caller, taken from the principal without touching the database
+     */
+    public UUID currentVendorUid()
+    {
+        AuthenticatedAccount principal = accountService.currentPrincipal();
+        if(principal!=null&&principal.isApprovedVendor())
+            return principal.getVendorUid();
         throw new AuthorizationDeniedException("Unable to Retireve Current Vendor");
     }
 
@@ -103,6 +122,7 @@ public class VendorService {
         BeanUtils.copyProperties(updateVendorRequest,vendorLocation);
 
         vendorLocationRepository.saveAndFlush(vendorLocation);
+        eventPublisher.publishEvent(VendorChangedEvent.of(vendor));
 
 
         return ResponseEntity.ok(ResponseFormatWithObject.builder()
@@ -111,10 +131,17 @@ public class VendorService {
     }
 
     public ResponseEntity<List<Vendor>> listActiveVendorsClose(double longitude, double latitude) {
-        List<Vendor> all = vendorRepository.findByActiveTrue();
+        AdminSettings adminSettings = adminService.getAdminSettings();
+        double radiusMeters = adminSettings.getDefaultRadius()*1000;
 
-        //calculate distances
-        for(Vendor vendor:all)
+        //a route is never shorter than the straight line, vendors farther than the radius
+        //that way are dropped before routing and only the nearest maxRouted are routed
+        List<Vendor> candidates = spatialIndex.nearest(latitude, longitude, maxRouted, radiusMeters)
+                .map(this::indexedVendors)
+                .orElseGet(() -> scanNearest(longitude, latitude, radiusMeters));
+
+        //calculate distances, the straight line stays when routing fails
+        for(Vendor vendor:candidates)
         {
             try {
                 DistanceResult distanceResult = distanceFacade.calculate(
@@ -136,13 +163,58 @@ public class VendorService {
 
         }
 
-        AdminSettings adminSettings = adminService.getAdminSettings();
-
-        List<Vendor> close = new LinkedList<>();
-        for(Vendor vendor:all)
-            if(vendor.getDistance()<=adminSettings.getDefaultRadius()*1000)
+        List<Vendor> close = new ArrayList<>();
+        for(Vendor vendor:candidates)
+            if(vendor.getDistance()<=radiusMeters)
                 close.add(vendor);
+        //candidates came nearest first in a straight line, the road can reorder them
+        close.sort(Comparator.comparingDouble(Vendor::getDistance));
 
         return ResponseEntity.ok(close);
     }
+
+    /**
+     * Vendors of the index hits with their straight line distance, nearest first, minus
+     * the ones that closed since the index saw them
+     */
+    private List<Vendor> indexedVendors(List<VendorSpatialIndex.Neighbor> neighbors) {
+        Map<UUID, Vendor> vendors = vendorRepository.findWithLocationByUidIn(
+                neighbors.stream().map(VendorSpatialIndex.Neighbor::getVendorUid).toList()
+        ).stream().collect(Collectors.toMap(Vendor::getUid, vendor -> vendor));
+
+        List<Vendor> candidates = new ArrayList<>(neighbors.size());
+        for(VendorSpatialIndex.Neighbor neighbor:neighbors)
+        {
+            Vendor vendor = vendors.get(neighbor.getVendorUid());
+            if(vendor==null||!vendor.isActive()||vendor.getVendorLocation()==null)
+                continue;
+            vendor.setDistance(neighbor.getDistanceMeters());
+            candidates.add(vendor);
+        }
+        return candidates;
+    }
+
+    /**
+     * Same selection over every active vendor, until the index is built
+     */
+    private List<Vendor> scanNearest(double longitude, double latitude, double radiusMeters) {
+        PriorityQueue<Vendor> nearest = new PriorityQueue<>(maxRouted+1, Comparator.comparingDouble(Vendor::getDistance).reversed());
+        for(Vendor vendor:vendorRepository.findActiveWithLocation())
+        {
+            VendorLocation location = vendor.getVendorLocation();
+            if(location==null)
+                continue;
+            double straightLine = GreatCircle.meters(latitude, longitude, location.getLatitude(), location.getLongitude());
+            if(straightLine>radiusMeters)
+                continue;
+            vendor.setDistance(straightLine);
+            nearest.offer(vendor);
+            if(nearest.size()>maxRouted)
+                nearest.poll();
+        }
+
+        List<Vendor> candidates = new ArrayList<>(nearest);
+        candidates.sort(Comparator.comparingDouble(Vendor::getDistance));
+        return candidates;
+    }
 }
@@ -0,0 +1,232 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.Utils.GreatCircle;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.events.VendorChangedEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.VendorRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Active vendors bucketed in a grid of vendors.index.cell-degrees square cells, a fixed
+ * precision geohash. A nearest query only measures the vendors of the cells around the
+ * point. Each cell holds an immutable list replaced on write, so queries never lock.
+ * Built at startup, kept current from VendorChangedEvent and rebuilt every
+ * vendors.index.rebuild-interval-ms, which bounds how long a change made on another
+ * node stays invisible here. Events that come in during a rebuild are applied to the
+ * new grid as well.
+ */
+@Slf4j
+@Component
+public class VendorSpatialIndex {
+
+    //length of a degree of latitude
+    private static final double METERS_PER_DEGREE = 111_195.0;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Value("${vendors.index.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    //replaced as a whole by each rebuild, null until the first one
+    private volatile Grid grid;
+
+    //events seen while a rebuild reads the vendors, null when none is running
+    private List<VendorChangedEvent> pending;
+
+    private final Object rebuildLock = new Object();
+
+    /**
+     * The k active vendors nearest to the point within maxRadius meters, nearest first,
+     * empty until built. Rings of cells are searched outwards until no closer vendor can
+     * be left. When the radius spans more cells than hold a vendor, the occupied cells are
+     * read instead, so a wide radius over small cells costs at most one pass over them.
+     */
+    public Optional<List<Neighbor>> nearest(double latitude, double longitude, int k, double maxRadiusMeters) {
+        Grid current = grid;
+        if (current == null)
+            return Optional.empty();
+        if (k <= 0)
+            return Optional.of(List.of());
+
+        PriorityQueue<Neighbor> nearest = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble(Neighbor::getDistanceMeters).reversed());
+        int row = current.row(latitude);
+        int col = current.col(longitude);
+        //cells narrow towards the pole, take the width at the far edge of the search
+        double ringMeters = Math.min(cellMeters(0), cellMeters(Math.abs(latitude) + maxRadiusMeters / METERS_PER_DEGREE));
+
+        //side of the square of cells the radius can reach, in double as it may be huge
+        double side = 2 * (maxRadiusMeters / ringMeters + 2) + 1;
+        if (side * side > current.cells.size()) {
+            for (List<Point> cell : current.cells.values())
+                offer(nearest, cell, latitude, longitude, k, maxRadiusMeters);
+        } else {
+            for (int ring = 0; ; ring++) {
+                //everything in this ring or beyond is at least this far away
+                double closest = (ring - 1) * ringMeters;
+                if (closest > maxRadiusMeters || (nearest.size() == k && closest > nearest.peek().getDistanceMeters()))
+                    break;
+
+                //only the 8 * ring cells of the border, the inside was done before
+                if (ring == 0) {
+                    offer(nearest, current.cell(row, col), latitude, longitude, k, maxRadiusMeters);
+                    continue;
+                }
+                for (int c = col - ring; c <= col + ring; c++) {
+                    offer(nearest, current.cell(row - ring, c), latitude, longitude, k, maxRadiusMeters);
+                    offer(nearest, current.cell(row + ring, c), latitude, longitude, k, maxRadiusMeters);
+                }
+                for (int r = row - ring + 1; r < row + ring; r++) {
+                    offer(nearest, current.cell(r, col - ring), latitude, longitude, k, maxRadiusMeters);
+                    offer(nearest, current.cell(r, col + ring), latitude, longitude, k, maxRadiusMeters);
+                }
+            }
+        }
+
+        List<Neighbor> found = new ArrayList<>(nearest);
+        found.sort(Comparator.comparingDouble(Neighbor::getDistanceMeters));
+        return Optional.of(found);
+    }
+
+    private static void offer(PriorityQueue<Neighbor> nearest, List<Point> cell, double latitude, double longitude,
+                              int k, double maxRadiusMeters) {
+        for (Point point : cell) {
+            double distance = GreatCircle.meters(latitude, longitude, point.latitude(), point.longitude());
+            if (distance > maxRadiusMeters)
+                continue;
+            nearest.offer(new Neighbor(point.vendorUid(), distance));
+            if (nearest.size() > k)
+                nearest.poll();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVendorChanged(VendorChangedEvent event) {
+        Grid current;
+        synchronized (rebuildLock) {
+            if (pending != null)
+                pending.add(event);
+            current = grid;
+        }
+        if (current != null)
+            apply(current, event);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${vendors.index.rebuild-interval-ms:30000}",
+            initialDelayString = "${vendors.index.rebuild-interval-ms:30000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            Grid rebuilt = new Grid(cellDegrees);
+            for (Vendor vendor : vendorRepository.findActiveWithLocation())
+                if (vendor.getVendorLocation() != null)
+                    rebuilt.put(new Point(vendor.getUid(), vendor.getVendorLocation().getLatitude(),
+                            vendor.getVendorLocation().getLongitude()));
+
+            //events committed after the read started carry the newer state
+            synchronized (rebuildLock) {
+                pending.forEach(event -> apply(rebuilt, event));
+                grid = rebuilt;
+            }
+            log.debug("Indexed {} active vendors", rebuilt.points.size());
+        } catch (Exception e) {
+            log.error("Vendor spatial index rebuild failed", e);
+        } finally {
+            synchronized (rebuildLock) {
+                pending = null;
+            }
+        }
+    }
+
+    private void apply(Grid target, VendorChangedEvent event) {
+        if (event.isActive() && event.getLatitude() != null && event.getLongitude() != null)
+            target.put(new Point(event.getVendorUid(), event.getLatitude(), event.getLongitude()));
+        else
+            target.remove(event.getVendorUid());
+    }
+
+    private double cellMeters(double latitude) {
+        return cellDegrees * METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Neighbor {
+        private UUID vendorUid;
+        private double distanceMeters;
+    }
+
+    private record Point(UUID vendorUid, double latitude, double longitude) {
+    }
+
+    private static class Grid {
+
+        private final double cellDegrees;
+
+        private final Map<UUID, Point> points = new ConcurrentHashMap<>();
+
+        private final Map<Long, List<Point>> cells = new ConcurrentHashMap<>();
+
+        private Grid(double cellDegrees) {
+            this.cellDegrees = cellDegrees;
+        }
+
+        private int row(double latitude) {
+            return (int) Math.floor(latitude / cellDegrees);
+        }
+
+        private int col(double longitude) {
+            return (int) Math.floor(longitude / cellDegrees);
+        }
+
+        private List<Point> cell(int row, int col) {
+            return cells.getOrDefault(key(row, col), List.of());
+        }
+
+        private synchronized void put(Point point) {
+            remove(point.vendorUid());
+            points.put(point.vendorUid(), point);
+            cells.compute(key(row(point.latitude()), col(point.longitude())), (key, list) -> {
+                List<Point> updated = list != null ? new ArrayList<>(list) : new ArrayList<>(1);
+                updated.add(point);
+                return List.copyOf(updated);
+            });
+        }
+
+        private synchronized void remove(UUID vendorUid) {
+            Point point = points.remove(vendorUid);
+            if (point == null)
+                return;
+            cells.computeIfPresent(key(row(point.latitude()), col(point.longitude())), (key, list) -> {
+                List<Point> updated = new ArrayList<>(list);
+                updated.remove(point);
+                return updated.isEmpty() ? null : List.copyOf(updated);
+            });
+        }
+
+        private static long key(int row, int col) {
+            return ((long) row << 32) | (col & 0xffffffffL);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.WebSocket.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes order notifications to the WebSocket broker once the order transaction has
+ * committed, so rolled back orders never notify anyone and the request does not wait
+ * on the broker. Each dispatch runs on its own virtual thread, a semaphore caps how many
+ * are in flight and anything over the cap is dropped and counted.
+ */
+@Slf4j
+@Component
+public class OrderNotificationDispatcher {
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${websocket.dispatch.max-concurrent:256}")
+    private int maxConcurrent;
+
+    private ExecutorService executor;
+
+    private Semaphore permits;
+
+    private Timer dispatchTimer;
+
+    private Counter failed;
+
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("websocket-dispatch-", 0).factory());
+        permits = new Semaphore(maxConcurrent);
+
+        meterRegistry.gauge("websocket.dispatch.in_flight", permits, semaphore -> maxConcurrent - semaphore.availablePermits());
+        dispatchTimer = Timer.builder("websocket.dispatch").register(meterRegistry);
+        failed = Counter.builder("websocket.dispatch.failed").register(meterRegistry);
+        rejected = Counter.builder("websocket.dispatch.rejected").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    //fallbackExecution covers publishers that run without a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderLifecycleEvent event) {
+        if (event.getType() == OrderLifecycleEvent.Type.STATUS_SYNCED)
+            return;
+
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            log.warn("WebSocket dispatch saturated, dropped notification for order {}", event.getOrderId());
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    dispatchTimer.record(() -> dispatch(event));
+                } catch (Exception e) {
+                    failed.increment();
+                    log.error("Failed to send notification for order {}", event.getOrderId(), e);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            //executor already shut down
+            permits.release();
+            rejected.increment();
+        }
+    }
+
+    private void dispatch(OrderLifecycleEvent event) {
+        switch (event.getType()) {
+            case CREATED -> webSocketService.sendOrderNotification(event.getVendorId(),
+                    "New order received: #" + event.getOrderId());
+            case STATUS_CHANGED -> webSocketService.sendOrderStatusUpdate(event.getStudentId(),
+                    event.getOrderId(), event.getStatus().name());
+            case CANCELLED -> webSocketService.sendOrderNotification(event.getVendorId(),
+                    "Order #" + event.getOrderId() + " has been cancelled");
+            case PAID -> webSocketService.sendOrderNotification(event.getVendorId(),
+                    "New paid order received: #" + event.getOrderId());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Configs;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway runs the migrations in the Migrations package before hibernate updates the
+ * schema. Existing databases were created by hibernate alone, they are baselined below
+ * the first migration so every migration still runs on them.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer flywayBaseline() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+    }
+}
@@ -0,0 +1,25 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Lets Hibernate send inserts and updates of the same table as JDBC batches, used by
+ * saveAll in bulk paths such as the account import.
+ */
+@Configuration
+public class JpaBatchingConfig implements HibernatePropertiesCustomizer {
+
+    @Value("${jpa.batch-size:100}")
+    private int batchSize;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+        hibernateProperties.putIfAbsent("hibernate.order_inserts", true);
+        hibernateProperties.putIfAbsent("hibernate.order_updates", true);
+    }
+}
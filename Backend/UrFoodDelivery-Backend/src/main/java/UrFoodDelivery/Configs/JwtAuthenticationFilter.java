@@ -2,8 +2,11 @@
 package com.UrFoodDelivery.UrFoodDelivery.Backend.Configs;
 
 
-import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthorizationTokens;
-import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthorizationTokensRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthenticatedAccount;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.AuthenticatedAccountCache;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.SessionLastAccessWriter;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Auth.TokenRevocationList;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.JwtClaims;
 import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -12,15 +15,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Date;
-import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,10 +29,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private AuthenticatedAccountCache authenticatedAccountCache;
 
     @Autowired
-    private AuthorizationTokensRepository authorizationTokensRepository;
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private SessionLastAccessWriter sessionLastAccessWriter;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
@@ -42,35 +45,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             try {
                 String token = authorizationHeader.substring(7);
-                String username = jwtUtil.extractUsername(token);
+                JwtClaims claims = jwtUtil.parse(token);
+                String username = claims.getSubject();
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    if (jwtUtil.validateToken(token, username)) {
+                    if (jwtUtil.validateToken(claims, username)) {
                     /*// Set authentication in the context
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(authToken);*/
 
-                        System.out.println("Validate Success Auth");
-                        Optional<AuthorizationTokens> tmpToken = authorizationTokensRepository.findByValue(token);
-                        if (tmpToken.isPresent()) {
-                            AuthorizationTokens authorizationTokens = tmpToken.get();
-                            System.out.println("Present Success Auth");
-                            if (authorizationTokens.isUsable()) {
+                        //access tokens are self contained, only logged out sessions need to be rejected
+                        UUID sessionId = claims.getSessionId();
+                        if (sessionId != null && !tokenRevocationList.isRevoked(sessionId)) {
 
-                                //check for 2FA
+                            //check for 2FA
 //                            if(check2FA(token))
-                                {
-                                    if (!request.getRequestURL().toString().endsWith("/checkUser")) {
-                                        authorizationTokens.setLastAccess(new Date().getTime());
-                                        authorizationTokensRepository.save(authorizationTokens);
-                                    }
-                                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = getUsernamePasswordAuthenticationToken(username, authorizationTokens);
-                                    usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-                                    System.out.println("Success Auth");
+                            {
+                                if (!request.getRequestURL().toString().endsWith("/checkUser")) {
+                                    sessionLastAccessWriter.touch(sessionId);
                                 }
+                                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = getUsernamePasswordAuthenticationToken(username);
+                                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
                             }
                         }
 
@@ -86,11 +83,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
 
-    private UsernamePasswordAuthenticationToken getUsernamePasswordAuthenticationToken(String username, AuthorizationTokens token) {
+    private UsernamePasswordAuthenticationToken getUsernamePasswordAuthenticationToken(String username) {
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        AuthenticatedAccount principal = authenticatedAccountCache.load(username);
 
-        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(userDetails.getUsername(),userDetails.getPassword(), userDetails.getAuthorities());
+        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
         return usernamePasswordAuthenticationToken;
     }
 }
\ No newline at end of file
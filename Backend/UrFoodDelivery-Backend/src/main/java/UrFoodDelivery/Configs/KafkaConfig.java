@@ -0,0 +1,71 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Configs;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Producer for the order event relay. Idempotence with acks=all keeps a retried send
+ * from being written twice or out of order within a partition.
+ */
+@Configuration
+public class KafkaConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${orders.events.topic:order-events}")
+    private String orderEventsTopic;
+
+    @Value("${orders.events.partitions:12}")
+    private int orderEventsPartitions;
+
+    @Value("${orders.events.replicas:1}")
+    private int orderEventsReplicas;
+
+    //bounds how long send() and partitionsFor() block while the broker is unreachable
+    @Value("${orders.outbox.max-block-ms:5000}")
+    private long maxBlock;
+
+    @Bean
+    public ProducerFactory<String, String> producerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlock);
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    //compacted by order id, a new consumer still gets the latest state of every order
+    @Bean
+    @ConditionalOnProperty(name = "orders.outbox.relay.enabled", havingValue = "true")
+    public NewTopic orderEventsTopic() {
+        return TopicBuilder.name(orderEventsTopic)
+                .partitions(orderEventsPartitions)
+                .replicas(orderEventsReplicas)
+                .compact()
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Migrations;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * The session token string used to be stored in a unique varchar column, sessions are
+ * now looked up by uid and refresh tokens by their fixed width hash. On a new database
+ * the table does not exist yet, hibernate creates it without the column.
+ */
+@Component
+public class V1__DropAuthorizationTokensValue extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            boolean exists;
+            try (ResultSet rs = statement.executeQuery(
+                    "select count(*) from information_schema.columns where table_schema = database() " +
+                    "and table_name = 'authorization_tokens' and column_name = 'value'")) {
+                exists = rs.next() && rs.getInt(1) > 0;
+            }
+            if (exists)
+                statement.execute("alter table authorization_tokens drop column value");
+        }
+    }
+}
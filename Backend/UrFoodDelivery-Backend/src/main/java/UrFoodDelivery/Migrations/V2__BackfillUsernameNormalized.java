@@ -0,0 +1,118 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Migrations;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills username_normalized for accounts created before the column existed, so logins
+ * that look accounts up by it find every account as soon as the new version serves.
+ * <p>
+ * Usernames that only differ by case or surrounding spaces can not share the unique
+ * normalized value. The account that already has it, or else the oldest one, keeps it,
+ * the others get "name#uid" so they stay unique but can not log in by name until an
+ * admin renames them. Every such account is logged.
+ */
+@Slf4j
+@Component
+public class V2__BackfillUsernameNormalized extends BaseJavaMigration {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String DUPLICATE_KEYS =
+            "select lower(trim(username)) from user_accounts_table where username is not null " +
+            "group by lower(trim(username)) having count(*) > 1";
+
+    private static final String DUPLICATES_OF_KEY =
+            "select hex(uid), username, username_normalized from user_accounts_table " +
+            "where lower(trim(username)) = ? order by username_normalized is null, created_on, uid";
+
+    private static final String SET_PLACEHOLDER =
+            "update user_accounts_table set username_normalized = concat(?, '#', lower(hex(uid))) where hex(uid) = ?";
+
+    private static final String BACKFILL =
+            "update user_accounts_table set username_normalized = lower(trim(username)) " +
+            "where username_normalized is null and username is not null limit " + CHUNK_SIZE;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!tableExists(connection))
+            return;
+        if (!columnExists(connection))
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter table user_accounts_table add column username_normalized varchar(255)");
+            }
+
+        int conflicts = resolveDuplicates(connection);
+
+        int total = 0;
+        try (Statement statement = connection.createStatement()) {
+            int updated;
+            do {
+                updated = statement.executeUpdate(BACKFILL);
+                total += updated;
+            } while (updated == CHUNK_SIZE);
+        }
+        log.info("Normalized usernames of {} accounts, {} accounts need a new username", total, conflicts);
+    }
+
+    private int resolveDuplicates(Connection connection) throws SQLException {
+        List<String> keys = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(DUPLICATE_KEYS)) {
+            while (rs.next())
+                keys.add(rs.getString(1));
+        }
+
+        int conflicts = 0;
+        try (PreparedStatement select = connection.prepareStatement(DUPLICATES_OF_KEY);
+             PreparedStatement update = connection.prepareStatement(SET_PLACEHOLDER)) {
+            for (String key : keys) {
+                select.setString(1, key);
+                try (ResultSet rs = select.executeQuery()) {
+                    //first row keeps the normalized name
+                    rs.next();
+                    String keeper = rs.getString(2);
+                    while (rs.next()) {
+                        if (rs.getString(3) != null)
+                            continue;
+                        log.warn("Username '{}' (account {}) clashes with '{}' ignoring case, it can not log in by name until renamed",
+                                rs.getString(2), rs.getString(1), keeper);
+                        update.setString(1, key);
+                        update.setString(2, rs.getString(1));
+                        update.executeUpdate();
+                        conflicts++;
+                    }
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private boolean tableExists(Connection connection) throws SQLException {
+        return count(connection, "select count(*) from information_schema.tables where table_schema = database() " +
+                "and table_name = 'user_accounts_table'") > 0;
+    }
+
+    private boolean columnExists(Connection connection) throws SQLException {
+        return count(connection, "select count(*) from information_schema.columns where table_schema = database() " +
+                "and table_name = 'user_accounts_table' and column_name = 'username_normalized'") > 0;
+    }
+
+    private int count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Utils;
+
+/**
+ * Thrown when work did not finish within its deadline, mapped to 503 by {@link GlobalExceptionHandler}
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package com.UrFoodDelivery.UrFoodDelivery.Backend.Utils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.SneakyThrows;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.Utils.IdempotencyConflictException;
 import org.apache.coyote.BadRequestException;
 import org.springframework.data.crossstore.ChangeSetPersister;
 import org.springframework.http.HttpStatus;
@@ -28,6 +29,12 @@ public class GlobalExceptionHandler {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
         } else if (ex instanceof BadCredentialsException) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
+        } else if (ex instanceof IdempotencyConflictException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+        } else if (ex instanceof TooManyRequestsException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1").body(ex.getMessage());
+        } else if (ex instanceof DeadlineExceededException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(ex.getMessage());
         } else if(ex instanceof ConstraintViolationException) {
             String message = ex.getMessage();
             String fineMessage = "";
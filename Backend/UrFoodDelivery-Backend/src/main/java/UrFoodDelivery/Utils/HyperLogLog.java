@@ -0,0 +1,93 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Utils;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * HyperLogLog estimate of the number of distinct uuids, 2^PRECISION one byte registers
+ * whatever the number of uuids added. The standard error is 1.04 / sqrt(REGISTERS),
+ * about 1.6%, and sketches of disjoint periods merge into the sketch of the union.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 12;
+
+    public static final int REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Sketch over the given registers, as stored by toBytes
+     */
+    public static HyperLogLog of(byte[] registers) {
+        if (registers.length != REGISTERS)
+            throw new IllegalArgumentException("Expected " + REGISTERS + " registers, got " + registers.length);
+        return new HyperLogLog(registers.clone());
+    }
+
+    /**
+     * Register a uuid goes to
+     */
+    public static int register(UUID value) {
+        return (int) (hash(value) >>> (Long.SIZE - PRECISION));
+    }
+
+    /**
+     * Value the register of a uuid takes at least, position of the first set bit after the
+     * register bits
+     */
+    public static int rank(UUID value) {
+        return Long.numberOfLeadingZeros(hash(value) << PRECISION | 1L << (PRECISION - 1)) + 1;
+    }
+
+    public void add(UUID value) {
+        int register = register(value);
+        registers[register] = (byte) Math.max(registers[register], rank(value));
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++)
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0)
+                zeros++;
+        }
+
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        //small cardinalities are counted more precisely from the empty registers
+        if (estimate <= 2.5 * REGISTERS && zeros > 0)
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        return Arrays.copyOf(registers, REGISTERS);
+    }
+
+    //uuids are mostly random already, mixing covers the ones that are not
+    private static long hash(UUID value) {
+        return mix(value.getMostSignificantBits() ^ mix(value.getLeastSignificantBits()));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,47 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Utils;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Immutable view of the claims of a token whose signature has already been verified.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JwtClaims {
+
+    private final String subject;
+
+    private final String id;
+
+    private final long issuedAt;
+
+    private final long expiration;
+
+    //login session the token was issued for, null for tokens without a "sid" claim
+    private final UUID sessionId;
+
+    static JwtClaims from(Claims claims) {
+        String sessionId = claims.get(JwtUtil.SESSION_CLAIM, String.class);
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.getId(),
+                toMillis(claims.getIssuedAt()),
+                toMillis(claims.getExpiration()),
+                sessionId == null ? null : UUID.fromString(sessionId)
+        );
+    }
+
+    public boolean isExpired(long now) {
+        return expiration != 0 && expiration < now;
+    }
+
+    private static long toMillis(Date date) {
+        return date == null ? 0 : date.getTime();
+    }
+}
@@ -3,53 +3,70 @@ package com.UrFoodDelivery.UrFoodDelivery.Backend.Utils;
 
 
 import com.UrFoodDelivery.UrFoodDelivery.Backend.Configs.SecurityConfig;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 
 @Component
 public class JwtUtil {
-    private String secretKey = SecurityConfig.secretKey; // Change this to a secure key
-    private long validityInMilliseconds = 3600000; // 1 hour
+    public static final String SESSION_CLAIM = "sid";
 
-    public String createToken(String username) {
+    // the secret is base64 encoded, same as the old signWith(SignatureAlgorithm, String) calls expected
+    private final SecretKey signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SecurityConfig.secretKey));
+    // parser is immutable and thread safe, build it once instead of per call
+    private final JwtParser parser = Jwts.parser().verifyWith(signingKey).build();
+
+    // access tokens are checked without the database and revocations are per node (see
+    // TokenRevocationList), keep them short lived, the client renews them with its refresh token
+    @Getter
+    @Value("${auth.access-token.validity-ms:900000}")
+    private long accessTokenValidity;
+
+    /**
+     * Create a short lived access token bound to the login session it was issued for
+     */
+    public String createAccessToken(String username, UUID sessionId) {
         Date now = new Date();
-        Date validity = new Date(now.getTime() + validityInMilliseconds);
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(validity)
-                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claim(SESSION_CLAIM, sessionId.toString())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + accessTokenValidity))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public boolean validateToken(String token, String username) {
-        final String user = extractUsername(token);
-        return (user.equals(username) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verify the signature once and return the claims, throws if the token is invalid or expired
+     */
+    public JwtClaims parse(String token) {
+        return JwtClaims.from(parser.parseSignedClaims(token).getPayload());
     }
 
-    private Date extractExpiration(String token) {
-        return Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+    /**
+     * Same as parse but an expired token still returns its claims. The signature is checked
+     * before the expiry, so this is safe for finding the session to log out.
+     */
+    public JwtClaims parseAllowingExpired(String token) {
+        try {
+            return parse(token);
+        } catch (ExpiredJwtException e) {
+            return JwtClaims.from(e.getClaims());
+        }
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    public boolean validateToken(JwtClaims claims, String username) {
+        return claims.getSubject().equals(username) && !claims.isExpired(System.currentTimeMillis());
     }
-}
\ No newline at end of file
+}
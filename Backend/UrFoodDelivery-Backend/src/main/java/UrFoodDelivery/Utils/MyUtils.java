@@ -4,6 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
@@ -11,6 +16,8 @@ public class MyUtils {
 
     public static Random random=new Random();
 
+    private static final SecureRandom secureRandom=new SecureRandom();
+
     public static String generateVerificationCode(int charactersCount)
     {
         String code="";
@@ -24,6 +31,36 @@ public class MyUtils {
     }
 
 
+    /**
+     * Random url safe token with the given number of bytes of entropy
+     */
+    public static String generateSecureToken(int bytes)
+    {
+        byte[] token=new byte[bytes];
+        secureRandom.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    public static String sha256Hex(String value)
+    {
+        try {
+            byte[] digest=MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Bytes of a uuid as hibernate stores it in a binary(16) column, for plain jdbc statements
+     */
+    public static byte[] uuidBytes(UUID uuid)
+    {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
 
     private static final ObjectMapper objectMapper=new ObjectMapper();
 
@@ -0,0 +1,11 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Utils;
+
+/**
+ * Thrown when a bounded resource is saturated, mapped to 429 by {@link GlobalExceptionHandler}
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,243 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.Utils.IdempotencyConflictException;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderIdempotencyKey;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderRequest;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderIdempotencyKeyRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Service.AccountService;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.MyUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyServiceTest {
+
+    private static final String KEY = "checkout-1";
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final UUID accountId = UUID.randomUUID();
+
+    private final UUID orderId = UUID.randomUUID();
+
+    private OrderIdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = newService();
+        lenient().when(accountService.currentAccountUid()).thenReturn(accountId);
+        lenient().when(orderService.createOrder(any())).thenReturn(response(OrderStatus.PENDING));
+    }
+
+    @Test
+    void retryGetsTheOriginalResponseNotTheCurrentState() {
+        when(orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(eq(accountId), anyString())).thenReturn(Optional.empty());
+        when(orderService.getOrderById(orderId)).thenReturn(response(OrderStatus.PENDING), response(OrderStatus.READY));
+
+        OrderResponse first = service.createOrder(KEY, request("one"));
+        OrderResponse retry = service.createOrder(KEY, request("one"));
+
+        assertThat(retry.getUid()).isEqualTo(orderId);
+        assertThat(retry.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(retry).isSameAs(first);
+        verify(orderService, times(1)).createOrder(any());
+    }
+
+    @Test
+    void storesTheOriginalResponseWithTheKey() throws Exception {
+        when(orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(eq(accountId), anyString())).thenReturn(Optional.empty());
+        when(orderService.getOrderById(orderId)).thenReturn(response(OrderStatus.PENDING));
+
+        service.createOrder(KEY, request("one"));
+
+        ArgumentCaptor<OrderIdempotencyKey> saved = ArgumentCaptor.forClass(OrderIdempotencyKey.class);
+        verify(orderIdempotencyKeyRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getOrderId()).isEqualTo(orderId);
+        assertThat(saved.getValue().getKeyHash()).isEqualTo(MyUtils.sha256Hex(KEY));
+        assertThat(objectMapper.readValue(saved.getValue().getResponse(), OrderResponse.class).getStatus())
+                .isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    void retryAfterMemoryExpiredIsAnsweredFromTheStoredKey() throws Exception {
+        OrderRequest request = request("one");
+        when(orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(accountId, MyUtils.sha256Hex(KEY)))
+                .thenReturn(Optional.of(storedKey(request, objectMapper.writeValueAsString(response(OrderStatus.PENDING)))));
+
+        OrderResponse retry = service.createOrder(KEY, request);
+
+        assertThat(retry.getUid()).isEqualTo(orderId);
+        assertThat(retry.getStatus()).isEqualTo(OrderStatus.PENDING);
+        verify(orderService, never()).createOrder(any());
+        verify(orderService, never()).getOrderById(any());
+    }
+
+    @Test
+    void keyStoredWithoutResponseFallsBackToTheCurrentState() throws Exception {
+        OrderRequest request = request("one");
+        when(orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(accountId, MyUtils.sha256Hex(KEY)))
+                .thenReturn(Optional.of(storedKey(request, null)));
+        when(orderService.getOrderById(orderId)).thenReturn(response(OrderStatus.READY));
+
+        assertThat(service.createOrder(KEY, request).getStatus()).isEqualTo(OrderStatus.READY);
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void sameKeyForADifferentOrderIsAConflict() {
+        when(orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(eq(accountId), anyString())).thenReturn(Optional.empty());
+        when(orderService.getOrderById(orderId)).thenReturn(response(OrderStatus.PENDING));
+
+        service.createOrder(KEY, request("one"));
+
+        assertThatThrownBy(() -> service.createOrder(KEY, request("two")))
+                .isInstanceOf(IdempotencyConflictException.class);
+        verify(orderService, times(1)).createOrder(any());
+    }
+
+    @Test
+    void sameKeyForADifferentOrderAfterMemoryExpiredIsAConflict() throws Exception {
+        when(orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(accountId, MyUtils.sha256Hex(KEY)))
+                .thenReturn(Optional.of(storedKey(request("one"), objectMapper.writeValueAsString(response(OrderStatus.PENDING)))));
+
+        assertThatThrownBy(() -> service.createOrder(KEY, request("two")))
+                .isInstanceOf(IdempotencyConflictException.class);
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheFirstRequest() throws Exception {
+        when(orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(eq(accountId), anyString())).thenReturn(Optional.empty());
+        when(orderService.getOrderById(orderId)).thenReturn(response(OrderStatus.PENDING));
+
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(any())).thenAnswer(invocation -> {
+            creating.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response(OrderStatus.PENDING);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<OrderResponse> first = executor.submit(() -> service.createOrder(KEY, request("one")));
+            assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<OrderResponse> duplicate = executor.submit(() -> service.createOrder(KEY, request("one")));
+            release.countDown();
+
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(orderService, times(1)).createOrder(any());
+    }
+
+    @Test
+    void losingTheRaceOnTheKeyReturnsTheWinnersResponse() throws Exception {
+        OrderRequest request = request("one");
+        UUID winnerOrderId = UUID.randomUUID();
+        OrderResponse winnerResponse = response(OrderStatus.PENDING);
+        winnerResponse.setUid(winnerOrderId);
+        OrderIdempotencyKey winner = storedKey(request, objectMapper.writeValueAsString(winnerResponse));
+        winner.setOrderId(winnerOrderId);
+
+        when(orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(accountId, MyUtils.sha256Hex(KEY)))
+                .thenReturn(Optional.empty(), Optional.of(winner));
+        when(orderService.getOrderById(orderId)).thenReturn(response(OrderStatus.PENDING));
+        when(orderIdempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertThat(service.createOrder(KEY, request).getUid()).isEqualTo(winnerOrderId);
+    }
+
+    @Test
+    void failedRequestCanBeRetriedWithTheSameKey() {
+        when(orderIdempotencyKeyRepository.findByAccountIdAndKeyHash(eq(accountId), anyString())).thenReturn(Optional.empty());
+        when(orderService.getOrderById(orderId)).thenReturn(response(OrderStatus.PENDING));
+        when(orderService.createOrder(any()))
+                .thenThrow(new IllegalStateException("Menu item unavailable"))
+                .thenReturn(response(OrderStatus.PENDING));
+
+        assertThatThrownBy(() -> service.createOrder(KEY, request("one"))).isInstanceOf(IllegalStateException.class);
+        assertThat(service.createOrder(KEY, request("one")).getUid()).isEqualTo(orderId);
+        verify(orderService, times(2)).createOrder(any());
+    }
+
+    private OrderIdempotencyService newService() {
+        OrderIdempotencyService service = new OrderIdempotencyService();
+        ReflectionTestUtils.setField(service, "orderService", orderService);
+        ReflectionTestUtils.setField(service, "orderIdempotencyKeyRepository", orderIdempotencyKeyRepository);
+        ReflectionTestUtils.setField(service, "accountService", accountService);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(service, "memoryTtl", 600_000L);
+        ReflectionTestUtils.setField(service, "waitTimeout", 5_000L);
+        return service;
+    }
+
+    private OrderIdempotencyKey storedKey(OrderRequest request, String response) throws Exception {
+        return OrderIdempotencyKey.builder()
+                .accountId(accountId)
+                .keyHash(MyUtils.sha256Hex(KEY))
+                .requestHash(MyUtils.sha256Hex(objectMapper.writeValueAsString(request)))
+                .orderId(orderId)
+                .response(response)
+                .createdAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private OrderResponse response(OrderStatus status) {
+        OrderResponse response = new OrderResponse();
+        response.setUid(orderId);
+        response.setStatus(status);
+        response.setTotal(12.5);
+        return response;
+    }
+
+    private static OrderRequest request(String instructions) {
+        OrderRequest request = new OrderRequest();
+        request.setOrderType("PICKUP");
+        request.setSpecialInstructions(instructions);
+        return request;
+    }
+}
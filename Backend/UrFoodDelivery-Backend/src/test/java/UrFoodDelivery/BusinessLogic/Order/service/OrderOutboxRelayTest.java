@@ -0,0 +1,218 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderOutboxEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderOutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@EmbeddedKafka(partitions = OrderOutboxRelayTest.PARTITIONS, topics = OrderOutboxRelayTest.TOPIC)
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+
+    static final String TOPIC = "order-events-test";
+
+    static final int PARTITIONS = 3;
+
+    @Mock
+    private OrderOutboxEventRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DefaultKafkaProducerFactory<String, String> producerFactory;
+
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> props = KafkaTestUtils.producerProps(EmbeddedKafkaCondition.getBroker());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerFactory = new DefaultKafkaProducerFactory<>(props);
+        nextId = 1;
+    }
+
+    @AfterEach
+    void tearDown() {
+        producerFactory.destroy();
+    }
+
+    @Test
+    void relaysBatchKeyedByOrderOnVendorPartitionAndMarksItPublished() {
+        OrderOutboxRelay relay = relay(new KafkaTemplate<>(producerFactory));
+        UUID vendor = UUID.randomUUID();
+        OrderOutboxEvent created = event(UUID.randomUUID(), vendor, OrderLifecycleEvent.Type.CREATED);
+        OrderOutboxEvent paid = event(created.getOrderId(), vendor, OrderLifecycleEvent.Type.PAID);
+        when(outboxRepository.lockClaimable(anyLong(), anyInt())).thenReturn(List.of(created, paid));
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+
+        verify(outboxRepository).claim(eq(List.of(created.getId(), paid.getId())), any(Long.class));
+        verify(outboxRepository).markPublished(eq(List.of(created.getId(), paid.getId())), anyLong());
+
+        List<ConsumerRecord<String, String>> records = consume(2);
+        int partition = Utils.toPositive(Utils.murmur2(vendor.toString().getBytes(StandardCharsets.UTF_8))) % PARTITIONS;
+        assertThat(records).extracting(ConsumerRecord::value).containsExactly(created.getPayload(), paid.getPayload());
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, String> record = records.get(i);
+            OrderOutboxEvent event = i == 0 ? created : paid;
+            assertThat(record.key()).isEqualTo(event.getOrderId().toString());
+            assertThat(record.partition()).isEqualTo(partition);
+            assertThat(header(record, OrderOutboxRelay.EVENT_ID_HEADER)).isEqualTo(event.getEventId().toString());
+            assertThat(header(record, OrderOutboxRelay.EVENT_TYPE_HEADER)).isEqualTo(event.getEventType().name());
+        }
+    }
+
+    @Test
+    void emptyClaimSendsNothing() {
+        OrderOutboxRelay relay = relay(new KafkaTemplate<>(producerFactory));
+        when(outboxRepository.lockClaimable(anyLong(), anyInt())).thenReturn(List.of());
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(outboxRepository, never()).claim(anyCollection(), any());
+        verify(outboxRepository, never()).markPublished(anyCollection(), anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedSendIsReleasedUnlessALaterEventOfItsOrderWentOut() {
+        KafkaTemplate<String, String> template = mock(KafkaTemplate.class);
+        OrderOutboxRelay relay = relay(template);
+        UUID vendor = UUID.randomUUID();
+        OrderOutboxEvent stale = event(UUID.randomUUID(), vendor, OrderLifecycleEvent.Type.CREATED);
+        OrderOutboxEvent newer = event(stale.getOrderId(), vendor, OrderLifecycleEvent.Type.STATUS_CHANGED);
+        OrderOutboxEvent lost = event(UUID.randomUUID(), vendor, OrderLifecycleEvent.Type.CREATED);
+        when(outboxRepository.lockClaimable(anyLong(), anyInt())).thenReturn(List.of(stale, newer, lost));
+        when(template.partitionsFor(TOPIC)).thenReturn(partitions());
+        when(template.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<String, String> record = invocation.getArgument(0);
+            if (record.value().equals(newer.getPayload()))
+                return CompletableFuture.completedFuture(new SendResult<>(record, null));
+            return CompletableFuture.failedFuture(new KafkaException("broker down"));
+        });
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        ArgumentCaptor<List<Long>> publishedIds = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).markPublished(publishedIds.capture(), anyLong());
+        assertThat(publishedIds.getValue()).containsExactlyInAnyOrder(stale.getId(), newer.getId());
+        verify(outboxRepository).claim(eq(List.of(lost.getId())), isNull());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void metadataFailureReleasesTheWholeClaim() {
+        KafkaTemplate<String, String> template = mock(KafkaTemplate.class);
+        OrderOutboxRelay relay = relay(template);
+        OrderOutboxEvent first = event(UUID.randomUUID(), UUID.randomUUID(), OrderLifecycleEvent.Type.CREATED);
+        OrderOutboxEvent second = event(UUID.randomUUID(), UUID.randomUUID(), OrderLifecycleEvent.Type.CREATED);
+        when(outboxRepository.lockClaimable(anyLong(), anyInt())).thenReturn(List.of(first, second));
+        when(template.partitionsFor(TOPIC)).thenThrow(new KafkaException("metadata timeout"));
+
+        assertThatThrownBy(relay::relayBatch).isInstanceOf(KafkaException.class);
+
+        verify(outboxRepository).claim(eq(List.of(first.getId(), second.getId())), isNull());
+        verify(outboxRepository, never()).markPublished(anyCollection(), anyLong());
+    }
+
+    private OrderOutboxRelay relay(KafkaTemplate<String, String> template) {
+        OrderOutboxRelay relay = new OrderOutboxRelay();
+        ReflectionTestUtils.setField(relay, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(relay, "kafkaTemplate", template);
+        ReflectionTestUtils.setField(relay, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(relay, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "topic", TOPIC);
+        ReflectionTestUtils.setField(relay, "batchSize", 200);
+        ReflectionTestUtils.setField(relay, "sendTimeout", 10000L);
+        ReflectionTestUtils.setField(relay, "claimDuration", 60000L);
+        relay.init();
+        return relay;
+    }
+
+    private OrderOutboxEvent event(UUID orderId, UUID vendorId, OrderLifecycleEvent.Type type) {
+        long id = nextId++;
+        return OrderOutboxEvent.builder()
+                .id(id)
+                .eventId(UUID.randomUUID())
+                .orderId(orderId)
+                .vendorId(vendorId)
+                .eventType(type)
+                .payload("{\"event\":" + id + "}")
+                .createdAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private List<PartitionInfo> partitions() {
+        List<PartitionInfo> partitions = new ArrayList<>();
+        for (int i = 0; i < PARTITIONS; i++)
+            partitions.add(new PartitionInfo(TOPIC, i, Node.noNode(), new Node[0], new Node[0]));
+        return partitions;
+    }
+
+    private List<ConsumerRecord<String, String>> consume(int expected) {
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        Map<String, Object> props = KafkaTestUtils.consumerProps("outbox-relay-test-" + UUID.randomUUID(), "false", broker);
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+            ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), expected);
+            List<ConsumerRecord<String, String>> result = new ArrayList<>();
+            records.forEach(result::add);
+            return result;
+        }
+    }
+
+    private String header(ConsumerRecord<String, String> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Menu.entity.MenuFood;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderItem;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.DeliveryType;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.entity.Payment;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.entity.enums.PaymentMethod;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Payment.entity.enums.PaymentStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.AccountRole;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.entity.VendorLocation;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements an order listing costs. A page has to stay at three (orders,
+ * items, payments) however many orders, items and payments it holds.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(OrderResponseAssembler.class)
+class OrderResponseAssemblerTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderResponseAssembler orderResponseAssembler;
+
+    private Statistics statistics;
+
+    private Account student;
+
+    private Vendor vendor;
+
+    private MenuFood food;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        student = entityManager.persist(Account.builder()
+                .username("student").usernameNormalized("student").name("Student").email("student@example.com")
+                .role(AccountRole.ROLE_STUDENT).createdOn(ZonedDateTime.now()).build());
+        Account vendorAccount = entityManager.persist(Account.builder()
+                .username("vendor").usernameNormalized("vendor").name("Vendor").email("vendor@example.com")
+                .role(AccountRole.ROLE_VENDOR).createdOn(ZonedDateTime.now()).build());
+        VendorLocation location = entityManager.persist(VendorLocation.builder()
+                .restaurantName("Canteen").address("Main street 1").phone("0123").latitude(1).longitude(2).build());
+        vendor = entityManager.persist(Vendor.builder()
+                .vendorAccount(vendorAccount).vendorLocation(location).active(true).rating(4.5).build());
+        food = entityManager.persist(MenuFood.builder()
+                .name("Jollof").price(5).category("Rice").available(true).createdOn(ZonedDateTime.now()).build());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    void studentPageCostsThreeStatements(int orders) {
+        for (int i = 0; i < orders; i++)
+            persistOrder(i);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<OrderResponse> page = orderResponseAssembler.attachDetails(orderRepository.findStudentOrdersPage(
+                student.getUid(), EnumSet.allOf(OrderStatus.class), null, null, Limit.of(50)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(page).hasSize(orders);
+        assertThat(page).allSatisfy(order -> {
+            assertThat(order.getOrderItems()).hasSize(2);
+            assertThat(order.getPayments()).hasSize(1);
+            assertThat(order.getVendor().getVendorLocation().getRestaurantName()).isEqualTo("Canteen");
+            assertThat(order.getStudent().getUsername()).isEqualTo("student");
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    void vendorPageCostsThreeStatements(int orders) {
+        for (int i = 0; i < orders; i++)
+            persistOrder(i);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<OrderResponse> page = orderResponseAssembler.attachDetails(orderRepository.findVendorOrdersPage(
+                vendor.getUid(), EnumSet.allOf(OrderStatus.class), null, null, null, null, Limit.unlimited()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(page).hasSize(orders);
+        assertThat(page).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(2));
+    }
+
+    private void persistOrder(int i) {
+        ZonedDateTime createdAt = ZonedDateTime.now().minusMinutes(i);
+        Order order = entityManager.persist(Order.builder()
+                .student(student).vendor(vendor).status(OrderStatus.PENDING).deliveryType(DeliveryType.PICKUP)
+                .subtotal(10).total(10).createdAt(createdAt).build());
+        for (int j = 0; j < 2; j++)
+            entityManager.persist(OrderItem.builder().order(order).menuFood(food).quantity(1).price(5).build());
+        entityManager.persist(Payment.builder()
+                .order(order).student(student).amount(10).currency("GHS")
+                .paymentMethod(PaymentMethod.CASH).status(PaymentStatus.PENDING).createdAt(createdAt).build());
+    }
+}
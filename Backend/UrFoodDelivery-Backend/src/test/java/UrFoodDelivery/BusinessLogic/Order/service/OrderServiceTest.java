@@ -0,0 +1,113 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Menu.entity.Menu;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Menu.entity.MenuFood;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderRequest;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.models.OrderResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.AccountRole;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Service.AccountService;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.entity.VendorLocation;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Configs.JpaBatchingConfig;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the statements placing an order costs. Whatever the cart size it has to stay at
+ * one select for the food items with their vendor, one insert for the order and one
+ * batched insert for its items.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({OrderService.class, OrderResponseAssembler.class, OrderPager.class, JpaBatchingConfig.class})
+class OrderServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderService orderService;
+
+    @MockitoBean
+    private AccountService accountService;
+
+    private Statistics statistics;
+
+    private UUID studentUid;
+
+    private Menu menu;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        studentUid = entityManager.persist(Account.builder()
+                .username("student").name("Student").email("student@example.com")
+                .role(AccountRole.ROLE_STUDENT).createdOn(ZonedDateTime.now()).build()).getUid();
+        Account vendorAccount = entityManager.persist(Account.builder()
+                .username("vendor").name("Vendor").email("vendor@example.com")
+                .role(AccountRole.ROLE_VENDOR).createdOn(ZonedDateTime.now()).build());
+        VendorLocation location = entityManager.persist(VendorLocation.builder()
+                .restaurantName("Canteen").address("Main street 1").phone("0123").latitude(1).longitude(2).build());
+        Vendor vendor = entityManager.persist(Vendor.builder()
+                .vendorAccount(vendorAccount).vendorLocation(location).active(true).rating(4.5).build());
+        menu = entityManager.persist(Menu.builder().title("Lunch").vendor(vendor).createdOn(ZonedDateTime.now()).build());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void createOrderCostsOneSelectAndTwoInserts(int items) {
+        OrderRequest request = new OrderRequest();
+        request.setOrderType("PICKUP");
+        request.setItems(new ArrayList<>());
+        for (int i = 0; i < items; i++) {
+            MenuFood food = entityManager.persist(MenuFood.builder().menu(menu)
+                    .name("Food " + i).price(5 + i).category("Rice").available(true).createdOn(ZonedDateTime.now()).build());
+            OrderRequest.OrderItemRequest item = new OrderRequest.OrderItemRequest();
+            item.setFoodItemId(food.getUid());
+            item.setQuantity(1 + i % 3);
+            request.getItems().add(item);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        when(accountService.currentAccount()).thenReturn(entityManager.find(Account.class, studentUid));
+        statistics.clear();
+
+        OrderResponse response = orderService.createOrder(request);
+        entityManager.flush();
+
+        //each prepared insert is sent once, as a batch for the items
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(items + 1);
+
+        entityManager.clear();
+        List<?> saved = entityManager.getEntityManager()
+                .createQuery("select i from OrderItem i where i.order.uid = :uid")
+                .setParameter("uid", response.getUid())
+                .getResultList();
+        assertThat(saved).hasSize(items);
+        assertThat(entityManager.find(Order.class, response.getUid()).getVendor().getUid()).isNotNull();
+    }
+}
@@ -0,0 +1,110 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.AccountRole;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks against the H2 plan that case insensitive username lookups are served by the
+ * unique index on username_normalized, where lower(username) = ? has to scan the table.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Repository.AccountRepositoryTest$RecordingStatementInspector"
+})
+class AccountRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 500; i++)
+            entityManager.persist(Account.builder()
+                    .username("Student-" + i).name("Student " + i).email("student" + i + "@example.com")
+                    .role(AccountRole.ROLE_STUDENT).createdOn(ZonedDateTime.now()).build());
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.statements.clear();
+    }
+
+    @Test
+    void lookupIgnoresCaseAndSpaces() {
+        assertThat(accountRepository.findByUsernameIgnoreCase("  STUDENT-42 "))
+                .map(Account::getUsername).contains("Student-42");
+        assertThat(accountRepository.findByUsernameIgnoreCase("student-500")).isEmpty();
+    }
+
+    @Test
+    void lookupGoesThroughTheUniqueIndex() {
+        String index = uniqueIndexOn("USERNAME_NORMALIZED");
+        assertThat(index).as("unique index on username_normalized").isNotNull();
+
+        accountRepository.findByUsernameIgnoreCase("Student-42");
+        String lookup = RecordingStatementInspector.statements.stream()
+                .filter(sql -> sql.contains("username_normalized=?"))
+                .findFirst().orElseThrow();
+
+        assertThat(explain(lookup)).containsIgnoringCase(index).doesNotContainIgnoringCase("tableScan");
+        //what findByUsernameIgnoreCase used to run
+        assertThat(explain("select uid from user_accounts_table where lower(username) = ?")).containsIgnoringCase("tableScan");
+    }
+
+    private String uniqueIndexOn(String column) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select i.index_name from information_schema.indexes i " +
+                    "join information_schema.index_columns c on c.index_name = i.index_name and c.table_name = i.table_name " +
+                    "where i.table_name = 'USER_ACCOUNTS_TABLE' and i.index_type_name = 'UNIQUE INDEX' and c.column_name = ?")) {
+                statement.setString(1, column);
+                try (ResultSet result = statement.executeQuery()) {
+                    return result.next() ? result.getString(1) : null;
+                }
+            }
+        });
+    }
+
+    private String explain(String sql) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                statement.setString(1, "student-42");
+                try (ResultSet result = statement.executeQuery()) {
+                    result.next();
+                    return result.getString(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Keeps the SQL Hibernate sends so its plan can be checked
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
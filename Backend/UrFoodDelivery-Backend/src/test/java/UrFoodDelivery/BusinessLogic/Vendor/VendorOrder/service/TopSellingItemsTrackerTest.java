@@ -0,0 +1,212 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorItemDailyStats;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.ItemSalesTotals;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorItemDailyStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TopSellingItemsTrackerTest {
+
+    private static final int CAPACITY = 50;
+
+    @Mock
+    private VendorItemDailyStatsRepository itemDailyStatsRepository;
+
+    private final UUID vendorUid = UUID.randomUUID();
+
+    private TopSellingItemsTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TopSellingItemsTracker();
+        ReflectionTestUtils.setField(tracker, "itemDailyStatsRepository", itemDailyStatsRepository);
+        ReflectionTestUtils.setField(tracker, "capacity", CAPACITY);
+        ReflectionTestUtils.setField(tracker, "retentionDays", 31);
+        ReflectionTestUtils.setField(tracker, "reloadInterval", 300_000L);
+    }
+
+    @Test
+    void topItemsOfASkewedStreamMatchExactCounts() {
+        List<UUID> items = items(300);
+        Map<UUID, Long> exact = new HashMap<>();
+        TopSellingItemsTracker.SpaceSaving summary = new TopSellingItemsTracker.SpaceSaving(CAPACITY);
+
+        Random random = new Random(11);
+        double[] weights = zipf(items.size(), 1.5);
+        for (int i = 0; i < 200_000; i++) {
+            UUID item = items.get(sample(weights, random));
+            int quantity = 1 + random.nextInt(3);
+            summary.add(item, item.toString(), quantity, quantity * 2.0);
+            exact.merge(item, (long) quantity, Long::sum);
+        }
+
+        //the third and fourth best sellers are further apart than the error bound
+        List<UUID> expected = exact.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed())
+                .limit(3)
+                .map(Map.Entry::getKey)
+                .toList();
+        List<ItemSalesTotals> top = summary.top(3);
+        assertThat(top).extracting(ItemSalesTotals::getMenuFoodUid).containsExactlyElementsOf(expected);
+        assertThat(top).allSatisfy(item -> assertThat(item.getQuantity()).isEqualTo(exact.get(item.getMenuFoodUid())));
+    }
+
+    @Test
+    void countsAreOverEstimatedByAtMostTotalOverCapacity() {
+        List<UUID> heavy = items(5);
+        Map<UUID, Long> exact = new HashMap<>();
+        TopSellingItemsTracker.SpaceSaving summary = new TopSellingItemsTracker.SpaceSaving(CAPACITY);
+
+        //a few heavy items among thousands that sell once, every one of which evicts a counter
+        Random random = new Random(5);
+        long total = 0;
+        for (int i = 0; i < 20_000; i++) {
+            UUID item = random.nextInt(4) == 0 ? heavy.get(random.nextInt(heavy.size())) : UUID.randomUUID();
+            summary.add(item, item.toString(), 1, 1.0);
+            exact.merge(item, 1L, Long::sum);
+            total++;
+        }
+
+        long bound = total / CAPACITY;
+        List<ItemSalesTotals> tracked = summary.top(CAPACITY);
+        assertThat(tracked).hasSizeLessThanOrEqualTo(CAPACITY);
+        assertThat(tracked).allSatisfy(item -> assertThat(item.getQuantity())
+                .isBetween(exact.get(item.getMenuFoodUid()), exact.get(item.getMenuFoodUid()) + bound));
+        //everything above the bound is kept
+        assertThat(tracked).extracting(ItemSalesTotals::getMenuFoodUid).containsAll(heavy);
+        exact.forEach((item, count) -> {
+            if (count > bound)
+                assertThat(tracked).extracting(ItemSalesTotals::getMenuFoodUid).contains(item);
+        });
+    }
+
+    @Test
+    void removingQuantityUndoesAnAdd() {
+        TopSellingItemsTracker.SpaceSaving summary = new TopSellingItemsTracker.SpaceSaving(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        summary.add(first, "first", 6, 60);
+        summary.add(second, "second", 3, 30);
+        //never tracked, nothing to undo and nothing evicted
+        summary.add(third, "third", -2, -20);
+        assertThat(summary.top(2)).extracting(ItemSalesTotals::getMenuFoodUid).containsExactly(first, second);
+
+        summary.add(first, "first", -2, -20);
+        assertThat(summary.top(1).get(0).getQuantity()).isEqualTo(4);
+        assertThat(summary.top(1).get(0).getRevenue()).isEqualTo(40);
+
+        //more than it sold clamps to nothing and frees the slot, the next item starts at its own count
+        summary.add(second, "second", -5, -50);
+        summary.add(third, "third", 1, 10);
+        assertThat(summary.top(2)).extracting(ItemSalesTotals::getMenuFoodUid, ItemSalesTotals::getQuantity)
+                .containsExactly(tuple(first, 4L), tuple(third, 1L));
+    }
+
+    @Test
+    void orderLeavingCompletedIsTakenOff() {
+        UUID food = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        when(itemDailyStatsRepository.findByVendorUidAndDayBetween(eq(vendorUid), any(), any()))
+                .thenReturn(List.of(new VendorItemDailyStats(vendorUid, today, food, "Jollof", 4, 40)));
+        assertThat(tracker.topItems(vendorUid, today, today, 5).orElseThrow())
+                .extracting(ItemSalesTotals::getQuantity).containsExactly(4L);
+
+        tracker.onOrderEvent(event(OrderStatus.COMPLETED, OrderStatus.CANCELLED, food, 1));
+
+        List<ItemSalesTotals> top = tracker.topItems(vendorUid, today, today, 5).orElseThrow();
+        assertThat(top).extracting(ItemSalesTotals::getQuantity).containsExactly(3L);
+        assertThat(top.get(0).getRevenue()).isEqualTo(30);
+    }
+
+    @Test
+    void eventsDuringTheLoadAreAppliedOnceOnTopOfTheRollup() {
+        UUID jollof = UUID.randomUUID();
+        UUID waakye = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        when(itemDailyStatsRepository.findByVendorUidAndDayBetween(eq(vendorUid), any(), any())).thenAnswer(invocation -> {
+            //committed while the rollup is read, which does not see them yet
+            tracker.onOrderEvent(event(OrderStatus.READY, OrderStatus.COMPLETED, waakye, 2));
+            tracker.onOrderEvent(event(OrderStatus.COMPLETED, OrderStatus.CANCELLED, jollof, 1));
+            return List.of(new VendorItemDailyStats(vendorUid, today, jollof, "Jollof", 4, 40));
+        });
+
+        List<ItemSalesTotals> top = tracker.topItems(vendorUid, today, today, 5).orElseThrow();
+
+        assertThat(top).extracting(ItemSalesTotals::getMenuFoodUid, ItemSalesTotals::getQuantity)
+                .containsExactly(tuple(jollof, 3L), tuple(waakye, 2L));
+    }
+
+    @Test
+    void periodOlderThanTheTrackedDaysIsLeftToTheRollup() {
+        LocalDate today = LocalDate.now();
+
+        assertThat(tracker.topItems(vendorUid, today.minusDays(60), today, 5)).isEmpty();
+    }
+
+    private OrderLifecycleEvent event(OrderStatus previous, OrderStatus status, UUID food, int quantity) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
+        return new OrderLifecycleEvent(OrderLifecycleEvent.Type.STATUS_CHANGED, UUID.randomUUID(), UUID.randomUUID(),
+                vendorUid, status, previous, quantity * 10.0, now,
+                List.of(new OrderLifecycleEvent.Item(food, "food", quantity, 10.0)), now);
+    }
+
+    private static List<UUID> items(int count) {
+        List<UUID> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            items.add(UUID.randomUUID());
+        return items;
+    }
+
+    //cumulative weights of rank 1..n, proportional to 1 / rank^exponent
+    private static double[] zipf(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++)
+            cumulative[i] /= sum;
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, Random random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,401 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Menu.entity.MenuFood;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.Order;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.OrderItem;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.UsersAccounts.Entity.Account;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorDailyCustomerSketch;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorDailyStats;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.ItemSalesTotals;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.OrderStatusTotals;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorAnalyticsResponse;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorDailyCustomerSketchRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorDailyStatsRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorItemDailyStatsRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services.VendorQueryFanout;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services.VendorService;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.HyperLogLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VendorAnalyticsServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private VendorDailyStatsRepository dailyStatsRepository;
+
+    @Mock
+    private VendorItemDailyStatsRepository itemDailyStatsRepository;
+
+    @Mock
+    private VendorDailyCustomerSketchRepository customerSketchRepository;
+
+    @Mock
+    private VendorService vendorService;
+
+    @Mock
+    private VendorAnalyticsCache analyticsCache;
+
+    @Mock
+    private TopSellingItemsTracker topSellingItemsTracker;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID vendorUid = UUID.randomUUID();
+
+    private VendorQueryFanout queryFanout;
+
+    private VendorAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        queryFanout = new VendorQueryFanout();
+        ReflectionTestUtils.setField(queryFanout, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(queryFanout, "maxConcurrent", 4);
+        ReflectionTestUtils.setField(queryFanout, "maxConnections", 4);
+        ReflectionTestUtils.setField(queryFanout, "timeout", 5_000L);
+        queryFanout.init();
+
+        service = new VendorAnalyticsService();
+        ReflectionTestUtils.setField(service, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(service, "dailyStatsRepository", dailyStatsRepository);
+        ReflectionTestUtils.setField(service, "itemDailyStatsRepository", itemDailyStatsRepository);
+        ReflectionTestUtils.setField(service, "customerSketchRepository", customerSketchRepository);
+        ReflectionTestUtils.setField(service, "vendorService", vendorService);
+        ReflectionTestUtils.setField(service, "analyticsCache", analyticsCache);
+        ReflectionTestUtils.setField(service, "topSellingItemsTracker", topSellingItemsTracker);
+        ReflectionTestUtils.setField(service, "queryFanout", queryFanout);
+
+        lenient().when(vendorService.currentVendor()).thenReturn(Vendor.builder().uid(vendorUid).build());
+        lenient().when(analyticsCache.get(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<VendorAnalyticsResponse>>getArgument(2).get());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        queryFanout.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"week", "month", "year", "unknown"})
+    void periodsHaveTheSameLengthAndMeet(String timeRange) {
+        LocalDate today = LocalDate.of(2026, 3, 1);
+
+        VendorAnalyticsService.Periods periods = VendorAnalyticsService.Periods.of(timeRange, today);
+
+        assertThat(periods.to()).isEqualTo(today);
+        assertThat(periods.previousTo()).isEqualTo(periods.from().minusDays(1));
+        assertThat(days(periods.previousFrom(), periods.previousTo())).isEqualTo(days(periods.from(), periods.to()));
+        assertThat(days(periods.from(), periods.to()))
+                .isEqualTo(switch (timeRange) {
+                    case "month" -> 30L;
+                    case "year" -> 365L;
+                    default -> 7L;
+                });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"week", "month"})
+    void steadySalesShowNoGrowth(String timeRange) {
+        //the same sales every day
+        when(dailyStatsRepository.findByVendorUidAndDayBetweenOrderByDay(eq(vendorUid), any(), any()))
+                .thenAnswer(invocation -> everyDay(invocation.getArgument(1), invocation.getArgument(2)));
+
+        VendorAnalyticsResponse analytics = service.getVendorAnalytics(timeRange);
+
+        assertThat(analytics.getTotalOrders()).isEqualTo(timeRange.equals("week") ? 7 * 3 : 30 * 3);
+        assertThat(analytics.getRevenueGrowth()).isZero();
+        assertThat(analytics.getOrderGrowth()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"week", "month"})
+    void rollupsGiveTheSameNumbersAsTheOrders(String timeRange) {
+        List<Order> orders = randomOrders(new Random(timeRange.hashCode()), 6000);
+        stubRollupsOf(orders);
+
+        VendorAnalyticsResponse analytics = service.getVendorAnalytics(timeRange);
+        VendorAnalyticsResponse expected = fromOrders(orders, timeRange);
+
+        assertThat(analytics.getTotalRevenue()).isCloseTo(expected.getTotalRevenue(), within(1e-6));
+        assertThat(analytics.getTotalOrders()).isEqualTo(expected.getTotalOrders());
+        assertThat(analytics.getAverageOrderValue()).isCloseTo(expected.getAverageOrderValue(), within(1e-6));
+        assertThat(analytics.getCompletionRate()).isCloseTo(expected.getCompletionRate(), within(1e-6));
+        assertThat(analytics.getPendingOrders()).isEqualTo(expected.getPendingOrders());
+        //the service rounds to a hundredth of a percent
+        assertThat(analytics.getRevenueGrowth()).isCloseTo(expected.getRevenueGrowth(), within(0.011));
+        assertThat(analytics.getOrderGrowth()).isCloseTo(expected.getOrderGrowth(), within(0.011));
+        //a sketch, exact for this few customers up to a couple
+        assertThat(analytics.getTotalCustomers()).isCloseTo(expected.getTotalCustomers(), within(2));
+
+        assertThat(analytics.getOrdersByStatus()).containsExactlyInAnyOrderElementsOf(expected.getOrdersByStatus());
+        assertThat(analytics.getDailyRevenue()).hasSameSizeAs(expected.getDailyRevenue());
+        for (int i = 0; i < expected.getDailyRevenue().size(); i++) {
+            VendorAnalyticsResponse.DailyRevenueData day = analytics.getDailyRevenue().get(i);
+            assertThat(day.getDate()).isEqualTo(expected.getDailyRevenue().get(i).getDate());
+            assertThat(day.getOrders()).isEqualTo(expected.getDailyRevenue().get(i).getOrders());
+            assertThat(day.getRevenue()).isCloseTo(expected.getDailyRevenue().get(i).getRevenue(), within(1e-6));
+        }
+        assertThat(analytics.getRevenueByDay()).hasSameSizeAs(expected.getRevenueByDay());
+        for (int i = 0; i < expected.getRevenueByDay().size(); i++) {
+            assertThat(analytics.getRevenueByDay().get(i).getDay()).isEqualTo(expected.getRevenueByDay().get(i).getDay());
+            assertThat(analytics.getRevenueByDay().get(i).getAmount())
+                    .isCloseTo(expected.getRevenueByDay().get(i).getAmount(), within(1e-6));
+        }
+        assertThat(analytics.getTopSellingItems()).extracting(VendorAnalyticsResponse.TopSellingItem::getName)
+                .containsExactlyElementsOf(expected.getTopSellingItems().stream()
+                        .map(VendorAnalyticsResponse.TopSellingItem::getName).toList());
+        assertThat(analytics.getTopSellingItems()).extracting(VendorAnalyticsResponse.TopSellingItem::getOrders)
+                .containsExactlyElementsOf(expected.getTopSellingItems().stream()
+                        .map(VendorAnalyticsResponse.TopSellingItem::getOrders).toList());
+    }
+
+    /**
+     * Orders of the last 61 days, each item half as likely as the one before so the best
+     * sellers are far apart and the top five have one order
+     */
+    private List<Order> randomOrders(Random random, int count) {
+        OrderStatus[] statuses = OrderStatus.values();
+        List<Account> students = new ArrayList<>();
+        for (int i = 0; i < 150; i++)
+            students.add(Account.builder().uid(UUID.randomUUID()).build());
+        List<MenuFood> foods = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+            foods.add(MenuFood.builder().uid(UUID.randomUUID()).name("food-" + i).build());
+
+        ZonedDateTime now = ZonedDateTime.now();
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(20);
+            OrderStatus status = roll < 12 ? OrderStatus.COMPLETED
+                    : roll < 15 ? OrderStatus.CANCELLED
+                    : statuses[random.nextInt(OrderStatus.COMPLETED.ordinal())];
+            List<OrderItem> items = new ArrayList<>();
+            double total = 0;
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                int food = Integer.numberOfTrailingZeros(random.nextInt(1 << 7) | 1 << 7);
+                OrderItem item = OrderItem.builder()
+                        .menuFood(foods.get(food))
+                        .quantity(1 + random.nextInt(4))
+                        .price(5 + food)
+                        .build();
+                items.add(item);
+                total += item.getQuantity() * item.getPrice();
+            }
+            orders.add(Order.builder()
+                    .uid(UUID.randomUUID())
+                    .student(students.get(random.nextInt(students.size())))
+                    .status(status)
+                    .orderItems(items)
+                    .total(total)
+                    .createdAt(now.minusSeconds(random.nextInt(61 * 24 * 3600)))
+                    .build());
+        }
+        return orders;
+    }
+
+    /**
+     * Answers the repositories with what the rollup updater would have written for the
+     * orders, counted on the day each order was created
+     */
+    private void stubRollupsOf(List<Order> orders) {
+        when(dailyStatsRepository.findByVendorUidAndDayBetweenOrderByDay(eq(vendorUid), any(), any()))
+                .thenAnswer(invocation -> {
+                    Map<LocalDate, VendorDailyStats> days = new TreeMap<>();
+                    for (Order order : ordersOfDays(orders, invocation.getArgument(1), invocation.getArgument(2))) {
+                        if (order.getStatus() != OrderStatus.COMPLETED && order.getStatus() != OrderStatus.CANCELLED)
+                            continue;
+                        VendorDailyStats day = days.computeIfAbsent(dayOf(order),
+                                d -> new VendorDailyStats(vendorUid, d, 0, 0.0, 0));
+                        if (order.getStatus() == OrderStatus.COMPLETED) {
+                            day.setCompletedOrders(day.getCompletedOrders() + 1);
+                            day.setRevenue(day.getRevenue() + order.getTotal());
+                        } else {
+                            day.setCancelledOrders(day.getCancelledOrders() + 1);
+                        }
+                    }
+                    return new ArrayList<>(days.values());
+                });
+        when(orderRepository.sumByStatus(eq(vendorUid), anyCollection(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Collection<OrderStatus> statuses = invocation.getArgument(1);
+                    ZonedDateTime from = invocation.getArgument(2);
+                    ZonedDateTime to = invocation.getArgument(3);
+                    return orders.stream()
+                            .filter(order -> statuses.contains(order.getStatus())
+                                    && !order.getCreatedAt().isBefore(from) && order.getCreatedAt().isBefore(to))
+                            .collect(Collectors.groupingBy(Order::getStatus))
+                            .entrySet().stream()
+                            .map(entry -> new OrderStatusTotals(entry.getKey(), (long) entry.getValue().size(),
+                                    entry.getValue().stream().mapToDouble(Order::getTotal).sum()))
+                            .toList();
+                });
+        when(customerSketchRepository.findByVendorUidAndDayBetween(eq(vendorUid), any(), any()))
+                .thenAnswer(invocation -> {
+                    Map<LocalDate, HyperLogLog> days = new HashMap<>();
+                    for (Order order : ordersOfDays(orders, invocation.getArgument(1), invocation.getArgument(2)))
+                        days.computeIfAbsent(dayOf(order), d -> new HyperLogLog()).add(order.getStudent().getUid());
+                    return days.entrySet().stream()
+                            .map(entry -> new VendorDailyCustomerSketch(vendorUid, entry.getKey(), entry.getValue().toBytes()))
+                            .toList();
+                });
+        when(itemDailyStatsRepository.findTopSellingItems(eq(vendorUid), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Map<UUID, ItemSalesTotals> items = new HashMap<>();
+                    for (Order order : ordersOfDays(orders, invocation.getArgument(1), invocation.getArgument(2))) {
+                        if (order.getStatus() != OrderStatus.COMPLETED)
+                            continue;
+                        for (OrderItem item : order.getOrderItems())
+                            items.merge(item.getMenuFood().getUid(),
+                                    new ItemSalesTotals(item.getMenuFood().getUid(), item.getMenuFood().getName(),
+                                            (long) item.getQuantity(), item.getQuantity() * item.getPrice()),
+                                    (a, b) -> new ItemSalesTotals(a.getMenuFoodUid(), a.getName(),
+                                            a.getQuantity() + b.getQuantity(), a.getRevenue() + b.getRevenue()));
+                    }
+                    return items.values().stream()
+                            .sorted(Comparator.comparing(ItemSalesTotals::getQuantity).reversed())
+                            .limit(invocation.<Limit>getArgument(3).max())
+                            .toList();
+                });
+        when(orderRepository.countByVendorAndStatus(any(), eq(OrderStatus.PENDING)))
+                .thenReturn(orders.stream().filter(order -> order.getStatus() == OrderStatus.PENDING).count());
+    }
+
+    /**
+     * The analytics as computed before the rollups, from every order of the period loaded
+     * into memory, over the same whole day periods
+     */
+    private VendorAnalyticsResponse fromOrders(List<Order> orders, String timeRange) {
+        VendorAnalyticsService.Periods periods = VendorAnalyticsService.Periods.of(timeRange, LocalDate.now());
+        List<Order> current = orders.stream()
+                .filter(order -> !order.getCreatedAt().isBefore(periods.from().atStartOfDay(ZoneId.systemDefault())))
+                .toList();
+        List<Order> previous = ordersOfDays(orders, periods.previousFrom(), periods.previousTo());
+        List<Order> completed = current.stream().filter(order -> order.getStatus() == OrderStatus.COMPLETED).toList();
+        List<Order> previousCompleted = previous.stream().filter(order -> order.getStatus() == OrderStatus.COMPLETED).toList();
+
+        VendorAnalyticsResponse analytics = new VendorAnalyticsResponse();
+        double revenue = completed.stream().mapToDouble(Order::getTotal).sum();
+        double previousRevenue = previousCompleted.stream().mapToDouble(Order::getTotal).sum();
+        analytics.setTotalRevenue(revenue);
+        analytics.setTotalOrders(completed.size());
+        analytics.setAverageOrderValue(completed.isEmpty() ? 0 : revenue / completed.size());
+        analytics.setTotalCustomers((int) current.stream().map(order -> order.getStudent().getUid()).distinct().count());
+        analytics.setCompletionRate(current.isEmpty() ? 0 : completed.size() * 100.0 / current.size());
+        analytics.setPendingOrders((int) orders.stream().filter(order -> order.getStatus() == OrderStatus.PENDING).count());
+        analytics.setRevenueGrowth(growth(revenue, previousRevenue));
+        analytics.setOrderGrowth(growth(completed.size(), previousCompleted.size()));
+
+        int days = timeRange.equals("week") ? 7 : 30;
+        Map<LocalDate, VendorAnalyticsResponse.DailyRevenueData> daily = new LinkedHashMap<>();
+        for (int i = days - 1; i >= 0; i--) {
+            LocalDate date = LocalDate.now().minusDays(i);
+            daily.put(date, new VendorAnalyticsResponse.DailyRevenueData(
+                    date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH), 0.0, 0));
+        }
+        Map<DayOfWeek, Double> byDay = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values())
+            byDay.put(day, 0.0);
+        Map<String, VendorAnalyticsResponse.TopSellingItem> items = new HashMap<>();
+        for (Order order : completed) {
+            VendorAnalyticsResponse.DailyRevenueData data = daily.get(dayOf(order));
+            if (data != null) {
+                data.setRevenue(data.getRevenue() + order.getTotal());
+                data.setOrders(data.getOrders() + 1);
+            }
+            byDay.merge(dayOf(order).getDayOfWeek(), order.getTotal(), Double::sum);
+            for (OrderItem item : order.getOrderItems()) {
+                VendorAnalyticsResponse.TopSellingItem top = items.computeIfAbsent(item.getMenuFood().getName(),
+                        name -> new VendorAnalyticsResponse.TopSellingItem(name, 0, 0.0));
+                top.setOrders(top.getOrders() + item.getQuantity());
+                top.setRevenue(top.getRevenue() + item.getPrice() * item.getQuantity());
+            }
+        }
+        analytics.setDailyRevenue(new ArrayList<>(daily.values()));
+        analytics.setRevenueByDay(byDay.entrySet().stream()
+                .map(entry -> new VendorAnalyticsResponse.RevenueByDay(
+                        entry.getKey().getDisplayName(TextStyle.SHORT, Locale.ENGLISH), entry.getValue()))
+                .toList());
+        analytics.setTopSellingItems(items.values().stream()
+                .sorted((a, b) -> Integer.compare(b.getOrders(), a.getOrders()))
+                .limit(5)
+                .toList());
+        analytics.setOrdersByStatus(current.stream()
+                .collect(Collectors.groupingBy(Order::getStatus, Collectors.counting()))
+                .entrySet().stream()
+                .map(entry -> new VendorAnalyticsResponse.StatusDistribution(entry.getKey().name(), entry.getValue().intValue()))
+                .toList());
+        return analytics;
+    }
+
+    private static double growth(double current, double previous) {
+        if (previous == 0)
+            return current > 0 ? 100.0 : 0.0;
+        return (current - previous) / previous * 100;
+    }
+
+    private static List<Order> ordersOfDays(List<Order> orders, LocalDate from, LocalDate to) {
+        return orders.stream()
+                .filter(order -> !dayOf(order).isBefore(from) && !dayOf(order).isAfter(to))
+                .toList();
+    }
+
+    private static LocalDate dayOf(Order order) {
+        return order.getCreatedAt().withZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private List<VendorDailyStats> everyDay(LocalDate from, LocalDate to) {
+        List<VendorDailyStats> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1))
+            days.add(new VendorDailyStats(vendorUid, day, 3, 30.0, 1));
+        return days;
+    }
+
+    private static long days(LocalDate from, LocalDate to) {
+        return ChronoUnit.DAYS.between(from, to) + 1;
+    }
+}
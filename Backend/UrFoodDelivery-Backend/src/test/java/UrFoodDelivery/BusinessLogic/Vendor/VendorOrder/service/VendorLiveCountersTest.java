@@ -0,0 +1,156 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.events.OrderLifecycleEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.repository.OrderRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.entity.VendorDailyStats;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.models.VendorStatusCount;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.repository.VendorDailyStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class VendorLiveCountersTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private VendorDailyStatsRepository dailyStatsRepository;
+
+    private final UUID vendorUid = UUID.randomUUID();
+
+    private VendorLiveCounters liveCounters;
+
+    @BeforeEach
+    void setUp() {
+        liveCounters = new VendorLiveCounters();
+        ReflectionTestUtils.setField(liveCounters, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(liveCounters, "dailyStatsRepository", dailyStatsRepository);
+
+        lenient().when(orderRepository.countPerVendorAndStatus(anyCollection()))
+                .thenReturn(List.of(new VendorStatusCount(vendorUid, OrderStatus.PENDING, 2L)));
+        lenient().when(dailyStatsRepository.findByDayGreaterThanEqual(any()))
+                .thenReturn(List.of(new VendorDailyStats(vendorUid, LocalDate.now(), 3, 30.0, 0)));
+    }
+
+    @Test
+    void eventsBeforeTheFirstReconcileAreDropped() {
+        liveCounters.onOrderEvent(event(null, OrderStatus.PENDING, 10, LocalDate.now()));
+
+        assertThat(liveCounters.snapshot(vendorUid)).isEmpty();
+        assertThat(liveCounters.activeOrders(vendorUid, OrderStatus.PENDING)).isEmpty();
+    }
+
+    @Test
+    void activeOrderMovesBetweenStatuses() {
+        liveCounters.reconcile();
+        LocalDate today = LocalDate.now();
+
+        liveCounters.onOrderEvent(event(null, OrderStatus.PENDING, 10, today));
+        liveCounters.onOrderEvent(event(OrderStatus.PENDING, OrderStatus.PREPARING, 10, today));
+        assertActive(2, 0, 1);
+
+        //back to an earlier status, as when the kitchen hands it back
+        liveCounters.onOrderEvent(event(OrderStatus.PREPARING, OrderStatus.RECEIVED, 10, today));
+        assertActive(2, 1, 0);
+        liveCounters.onOrderEvent(event(OrderStatus.RECEIVED, OrderStatus.PREPARING, 10, today));
+        assertActive(2, 0, 1);
+
+        //repeated status, nothing moves
+        liveCounters.onOrderEvent(event(OrderStatus.PREPARING, OrderStatus.PREPARING, 10, today));
+        assertThat(liveCounters.snapshot(vendorUid).orElseThrow().getActiveOrders()).isEqualTo(3);
+
+        liveCounters.onOrderEvent(event(OrderStatus.PREPARING, OrderStatus.CANCELLED, 10, today));
+        liveCounters.onOrderEvent(event(OrderStatus.PENDING, OrderStatus.CANCELLED, 10, today));
+        assertActive(1, 0, 0);
+        assertThat(liveCounters.snapshot(vendorUid).orElseThrow().getActiveOrders()).isEqualTo(1);
+    }
+
+    @Test
+    void completedOrdersCountOnTheDayTheOrderWasCreated() {
+        liveCounters.reconcile();
+        LocalDate today = LocalDate.now();
+
+        liveCounters.onOrderEvent(event(OrderStatus.READY, OrderStatus.COMPLETED, 12.5, today));
+        //created yesterday, completed after midnight
+        liveCounters.onOrderEvent(event(OrderStatus.OUT_FOR_DELIVERY, OrderStatus.COMPLETED, 20, today.minusDays(1)));
+        //created before yesterday, outside the counters
+        liveCounters.onOrderEvent(event(OrderStatus.READY, OrderStatus.COMPLETED, 99, today.minusDays(2)));
+
+        VendorLiveCounters.Snapshot snapshot = liveCounters.snapshot(vendorUid).orElseThrow();
+        assertThat(snapshot.getTodayCompletedOrders()).isEqualTo(4);
+        assertThat(snapshot.getTodayRevenue()).isEqualTo(42.5);
+        assertThat(snapshot.getYesterdayCompletedOrders()).isEqualTo(1);
+        assertThat(snapshot.getYesterdayRevenue()).isEqualTo(20);
+
+        //a completed order taken back comes off its creation day
+        liveCounters.onOrderEvent(event(OrderStatus.COMPLETED, OrderStatus.CANCELLED, 20, today.minusDays(1)));
+        liveCounters.onOrderEvent(event(OrderStatus.COMPLETED, OrderStatus.CANCELLED, 12.5, today));
+
+        snapshot = liveCounters.snapshot(vendorUid).orElseThrow();
+        assertThat(snapshot.getTodayCompletedOrders()).isEqualTo(3);
+        assertThat(snapshot.getTodayRevenue()).isEqualTo(30);
+        assertThat(snapshot.getYesterdayCompletedOrders()).isZero();
+        assertThat(snapshot.getYesterdayRevenue()).isZero();
+    }
+
+    @Test
+    void vendorNotSeenByTheReconcileStartsAtZero() {
+        liveCounters.reconcile();
+        UUID newVendor = UUID.randomUUID();
+
+        assertThat(liveCounters.snapshot(newVendor).orElseThrow().getActiveOrders()).isZero();
+        assertThat(liveCounters.activeOrders(newVendor, OrderStatus.PENDING)).contains(0L);
+    }
+
+    @Test
+    void dayCountersRollOverAtMidnight() {
+        LocalDate monday = LocalDate.of(2026, 3, 2);
+        VendorLiveCounters.VendorCounters counters = new VendorLiveCounters.VendorCounters();
+
+        counters.day(monday.minusDays(1), monday).completed.add(1);
+        counters.day(monday, monday).completed.add(2);
+        assertThat(counters.day(monday.minusDays(2), monday)).isNull();
+
+        //first event of tuesday drops sunday, monday is now yesterday
+        LocalDate tuesday = monday.plusDays(1);
+        counters.day(tuesday, tuesday).completed.add(4);
+        assertThat(counters.days).containsOnlyKeys(monday, tuesday);
+        assertThat(counters.day(monday, tuesday).completed.sum()).isEqualTo(2);
+        assertThat(counters.day(monday.minusDays(1), tuesday)).isNull();
+
+        //a day with no event in between, both days are stale
+        LocalDate thursday = tuesday.plusDays(2);
+        assertThat(counters.day(thursday, thursday).completed.sum()).isZero();
+        assertThat(counters.days).containsOnlyKeys(thursday);
+    }
+
+    private void assertActive(long pending, long received, long preparing) {
+        assertThat(liveCounters.activeOrders(vendorUid, OrderStatus.PENDING)).contains(pending);
+        assertThat(liveCounters.activeOrders(vendorUid, OrderStatus.RECEIVED)).contains(received);
+        assertThat(liveCounters.activeOrders(vendorUid, OrderStatus.PREPARING)).contains(preparing);
+    }
+
+    private OrderLifecycleEvent event(OrderStatus previous, OrderStatus status, double total, LocalDate createdOn) {
+        ZonedDateTime createdAt = createdOn.atStartOfDay(ZoneId.systemDefault()).plusHours(12);
+        OrderLifecycleEvent.Type type = previous == null ? OrderLifecycleEvent.Type.CREATED : OrderLifecycleEvent.Type.STATUS_CHANGED;
+        return new OrderLifecycleEvent(type, UUID.randomUUID(), UUID.randomUUID(), vendorUid, status, previous, total,
+                createdAt, List.of(), ZonedDateTime.now());
+    }
+}
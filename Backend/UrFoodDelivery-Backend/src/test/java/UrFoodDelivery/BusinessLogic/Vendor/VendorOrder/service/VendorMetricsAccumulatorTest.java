@@ -0,0 +1,90 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.VendorOrder.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Order.entity.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorMetricsAccumulatorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1969-12-20", "1970-01-01", "2000-02-28", "2024-02-29", "2026-10-18"})
+    void dayOfWeekFollowsTheCalendar(String start) {
+        //two weeks from each start, including days before the epoch
+        for (LocalDate day = LocalDate.parse(start); day.isBefore(LocalDate.parse(start).plusDays(14)); day = day.plusDays(1)) {
+            VendorMetricsAccumulator metrics = new VendorMetricsAccumulator(day, day);
+            metrics.addOrder(OrderStatus.COMPLETED, 10, day);
+
+            for (DayOfWeek dayOfWeek : DayOfWeek.values())
+                assertThat(metrics.getDayOfWeekRevenue(dayOfWeek)).as("%s on %s", day, dayOfWeek)
+                        .isEqualTo(dayOfWeek == day.getDayOfWeek() ? 10 : 0);
+        }
+    }
+
+    @Test
+    void dayBucketsCoverFirstToLastDayInclusive() {
+        LocalDate first = LocalDate.of(2026, 3, 1);
+        LocalDate last = LocalDate.of(2026, 3, 7);
+        VendorMetricsAccumulator metrics = new VendorMetricsAccumulator(first, last);
+
+        metrics.addOrder(OrderStatus.COMPLETED, 1, first.minusDays(1));
+        metrics.addOrder(OrderStatus.COMPLETED, 2, first);
+        metrics.addOrder(OrderStatus.COMPLETED, 4, last);
+        metrics.addOrder(OrderStatus.COMPLETED, 8, last.plusDays(1));
+
+        assertThat(metrics.getDayRevenue(first.minusDays(1))).isZero();
+        assertThat(metrics.getDayRevenue(first)).isEqualTo(2);
+        assertThat(metrics.getDayOrders(first)).isEqualTo(1);
+        assertThat(metrics.getDayRevenue(last)).isEqualTo(4);
+        assertThat(metrics.getDayRevenue(last.plusDays(1))).isZero();
+        assertThat(metrics.getDayOrders(last.plusDays(1))).isZero();
+        //days outside the buckets still count in the totals and the weekdays
+        assertThat(metrics.getCompletedOrders()).isEqualTo(4);
+        assertThat(metrics.getCompletedRevenue()).isEqualTo(15);
+        assertThat(metrics.getDayOfWeekRevenue(last.plusDays(1).getDayOfWeek())).isEqualTo(8 + 2);
+    }
+
+    @Test
+    void lastDayBeforeFirstDayHasNoBuckets() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        VendorMetricsAccumulator metrics = new VendorMetricsAccumulator(day, day.minusDays(1));
+
+        metrics.addOrder(OrderStatus.COMPLETED, 5, day);
+
+        assertThat(metrics.getDayRevenue(day)).isZero();
+        assertThat(metrics.getCompletedRevenue()).isEqualTo(5);
+    }
+
+    @Test
+    void onlyCompletedOrdersGoToTheDays() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        VendorMetricsAccumulator metrics = new VendorMetricsAccumulator(day, day);
+
+        metrics.addOrders(OrderStatus.COMPLETED, 3, 30, day);
+        metrics.addOrders(OrderStatus.CANCELLED, 1, 0, day);
+        metrics.addOrders(OrderStatus.PENDING, 2, 20);
+        //a completed total without a day only counts in the totals
+        metrics.addOrders(OrderStatus.COMPLETED, 1, 10);
+
+        assertThat(metrics.getDayOrders(day)).isEqualTo(3);
+        assertThat(metrics.getDayRevenue(day)).isEqualTo(30);
+        assertThat(metrics.getDayOfWeekRevenue(day.getDayOfWeek())).isEqualTo(30);
+        assertThat(metrics.getOrders(OrderStatus.PENDING)).isEqualTo(2);
+        assertThat(metrics.getTotalOrders()).isEqualTo(7);
+        assertThat(metrics.getCompletedRevenue()).isEqualTo(40);
+        assertThat(metrics.getCompletionRate()).isEqualTo(4 * 100.0 / 7);
+    }
+
+    @Test
+    void growthInPercentToTwoDecimals() {
+        assertThat(VendorMetricsAccumulator.growth(150, 100)).isEqualTo(50.0);
+        assertThat(VendorMetricsAccumulator.growth(100, 300)).isEqualTo(-66.67);
+        assertThat(VendorMetricsAccumulator.growth(5, 0)).isEqualTo(100.0);
+        assertThat(VendorMetricsAccumulator.growth(0, 0)).isEqualTo(0.0);
+    }
+}
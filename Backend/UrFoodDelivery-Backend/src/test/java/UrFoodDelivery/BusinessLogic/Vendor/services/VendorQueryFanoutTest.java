@@ -0,0 +1,149 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.Utils.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+@Timeout(10)
+class VendorQueryFanoutTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<VendorQueryFanout> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (VendorQueryFanout fanout : started)
+            fanout.shutdown();
+    }
+
+    @Test
+    void queryPastTheDeadlineFailsTheBatchAndIsCancelled() throws InterruptedException {
+        VendorQueryFanout fanout = fanout(4, 4, 100);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        VendorQueryFanout.Batch batch = fanout.batch();
+        batch.submit(() -> blockUntilInterrupted(interrupted));
+
+        assertThatThrownBy(batch::join)
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessageContaining("did not finish within 100 ms");
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void failingQueryCancelsTheOnesStillRunning() throws InterruptedException {
+        VendorQueryFanout fanout = fanout(4, 4, 5_000);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        VendorQueryFanout.Batch batch = fanout.batch();
+        batch.submit(() -> {
+            throw new IllegalArgumentException("bad query");
+        });
+        batch.submit(() -> blockUntilInterrupted(interrupted));
+
+        //the failure is rethrown as is, long before the deadline
+        long start = System.nanoTime();
+        assertThatThrownBy(batch::join).isInstanceOf(IllegalArgumentException.class).hasMessage("bad query");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void maxConnectionsCapsQueriesAcrossBatches() {
+        VendorQueryFanout fanout = fanout(4, 2, 5_000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        //each batch alone would run four at once
+        List<VendorQueryFanout.Batch> batches = List.of(fanout.batch(), fanout.batch());
+        List<Future<Integer>> results = new ArrayList<>();
+        for (VendorQueryFanout.Batch batch : batches)
+            for (int i = 0; i < 4; i++) {
+                int value = i;
+                results.add(batch.submit(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return value;
+                }));
+            }
+        batches.forEach(VendorQueryFanout.Batch::join);
+
+        assertThat(peak.get()).isEqualTo(2);
+        assertThat(results).extracting(Future::resultNow).containsExactly(0, 1, 2, 3, 0, 1, 2, 3);
+    }
+
+    @Test
+    void queryWithoutAConnectionBeforeTheDeadlineFails() throws InterruptedException {
+        VendorQueryFanout fanout = fanout(4, 1, 200);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        //another request holds the only connection
+        CountDownLatch holding = new CountDownLatch(1);
+        fanout.batch().submit(() -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+
+        try {
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+            VendorQueryFanout.Batch batch = fanout.batch();
+            batch.submit(() -> ran.getAndSet(true));
+
+            assertThatThrownBy(batch::join).isInstanceOf(DeadlineExceededException.class);
+            assertThat(ran).isFalse();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private VendorQueryFanout fanout(int maxConcurrent, int maxConnections, long timeout) {
+        VendorQueryFanout fanout = new VendorQueryFanout();
+        ReflectionTestUtils.setField(fanout, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(fanout, "maxConcurrent", maxConcurrent);
+        ReflectionTestUtils.setField(fanout, "maxConnections", maxConnections);
+        ReflectionTestUtils.setField(fanout, "timeout", timeout);
+        fanout.init();
+        started.add(fanout);
+        return fanout;
+    }
+
+    private static Object blockUntilInterrupted(CountDownLatch interrupted) {
+        try {
+            Thread.sleep(60_000);
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,232 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.services;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.service.AdminService;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Admin.settings.AdminSettings;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.Utils.DistanceFacade;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.Utils.GreatCircle;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.models.DistanceRequest;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.models.DistanceResult;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.VendorRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.entity.VendorLocation;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.service.VendorSpatialIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the close vendor listing against a brute force scan that computes the straight
+ * line to every vendor, routes the nearest maxRouted inside the radius and keeps those
+ * whose route is inside the radius, nearest by road first.
+ */
+@ExtendWith(MockitoExtension.class)
+class VendorServiceTest {
+
+    private static final double LATITUDE = 5.6037;
+
+    private static final double LONGITUDE = -0.1870;
+
+    private static final double RADIUS_KM = 5;
+
+    private static final int MAX_ROUTED = 20;
+
+    @Mock
+    private VendorRepository vendorRepository;
+
+    @Mock
+    private AdminService adminService;
+
+    @Mock
+    private DistanceFacade distanceFacade;
+
+    @Mock
+    private VendorSpatialIndex spatialIndex;
+
+    private VendorService vendorService;
+
+    //how much longer than the straight line the road to a vendor is, by vendor latitude
+    private final Map<Double, Double> roadFactors = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        vendorService = new VendorService();
+        ReflectionTestUtils.setField(vendorService, "vendorRepository", vendorRepository);
+        ReflectionTestUtils.setField(vendorService, "adminService", adminService);
+        ReflectionTestUtils.setField(vendorService, "distanceFacade", distanceFacade);
+        ReflectionTestUtils.setField(vendorService, "spatialIndex", spatialIndex);
+        ReflectionTestUtils.setField(vendorService, "maxRouted", MAX_ROUTED);
+
+        AdminSettings settings = new AdminSettings();
+        settings.setDefaultRadius(RADIUS_KM);
+        when(adminService.getAdminSettings()).thenReturn(settings);
+        //index not built yet, the service scans every active vendor
+        lenient().when(spatialIndex.nearest(anyDouble(), anyDouble(), anyInt(), anyDouble())).thenReturn(Optional.empty());
+        lenient().when(distanceFacade.calculate(any())).thenAnswer(invocation -> route(invocation.getArgument(0)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 4, 5, 6, 7, 8})
+    void matchesBruteForce(long seed) throws Exception {
+        Random random = new Random(seed);
+        List<Vendor> vendors = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            //about 11 km either way, so some vendors are in the radius and most are not
+            double latitude = LATITUDE + (random.nextDouble() * 2 - 1) * 0.1;
+            double longitude = LONGITUDE + (random.nextDouble() * 2 - 1) * 0.1;
+            roadFactors.put(latitude, 1 + random.nextDouble() * 0.6);
+            vendors.add(vendor(latitude, longitude));
+        }
+        when(vendorRepository.findActiveWithLocation()).thenReturn(vendors);
+
+        List<UUID> expected = bruteForce(vendors);
+        List<Vendor> close = vendorService.listActiveVendorsClose(LONGITUDE, LATITUDE).getBody();
+
+        assertThat(close).extracting(Vendor::getUid).containsExactlyElementsOf(expected);
+        assertThat(close).isSortedAccordingTo(Comparator.comparingDouble(Vendor::getDistance));
+        verify(distanceFacade, times(routedCount(vendors))).calculate(any());
+    }
+
+    @Test
+    void routesOnlyMaxRoutedOfManyVendorsInRadius() throws Exception {
+        List<Vendor> vendors = vendorsInRadius(5000);
+        when(vendorRepository.findActiveWithLocation()).thenReturn(vendors);
+
+        List<Vendor> close = vendorService.listActiveVendorsClose(LONGITUDE, LATITUDE).getBody();
+
+        verify(distanceFacade, times(MAX_ROUTED)).calculate(any());
+        assertThat(close).extracting(Vendor::getUid).containsExactlyElementsOf(bruteForce(vendors));
+    }
+
+    @Test
+    void routesOnlyMaxRoutedOfManyIndexedVendorsInRadius() throws Exception {
+        List<Vendor> vendors = vendorsInRadius(5000);
+        VendorRepository indexedVendors = mock(VendorRepository.class);
+        when(indexedVendors.findActiveWithLocation()).thenReturn(vendors);
+        VendorSpatialIndex index = new VendorSpatialIndex();
+        ReflectionTestUtils.setField(index, "vendorRepository", indexedVendors);
+        ReflectionTestUtils.setField(index, "cellDegrees", 0.01);
+        index.rebuild();
+
+        when(spatialIndex.nearest(anyDouble(), anyDouble(), anyInt(), anyDouble())).thenAnswer(invocation -> index.nearest(
+                invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        when(vendorRepository.findWithLocationByUidIn(any())).thenAnswer(invocation -> {
+            Collection<UUID> uids = invocation.getArgument(0);
+            return vendors.stream().filter(vendor -> uids.contains(vendor.getUid())).toList();
+        });
+
+        List<Vendor> close = vendorService.listActiveVendorsClose(LONGITUDE, LATITUDE).getBody();
+
+        verify(distanceFacade, times(MAX_ROUTED)).calculate(any());
+        assertThat(close).extracting(Vendor::getUid).containsExactlyElementsOf(bruteForce(vendors));
+    }
+
+    @Test
+    void ordersByRoadDistance() throws Exception {
+        //nearest in a straight line, but the road goes around
+        Vendor detour = vendor(LATITUDE + 0.01, LONGITUDE);
+        roadFactors.put(LATITUDE + 0.01, 3.0);
+        Vendor direct = vendor(LATITUDE + 0.02, LONGITUDE);
+        roadFactors.put(LATITUDE + 0.02, 1.0);
+        when(vendorRepository.findActiveWithLocation()).thenReturn(List.of(detour, direct));
+
+        List<Vendor> close = vendorService.listActiveVendorsClose(LONGITUDE, LATITUDE).getBody();
+
+        assertThat(close).containsExactly(direct, detour);
+    }
+
+    @Test
+    void keepsTheStraightLineWhenRoutingFails() throws Exception {
+        Vendor vendor = vendor(LATITUDE + 0.01, LONGITUDE);
+        when(vendorRepository.findActiveWithLocation()).thenReturn(List.of(vendor));
+        doThrow(new IllegalStateException("routing down")).when(distanceFacade).calculate(any());
+
+        List<Vendor> close = vendorService.listActiveVendorsClose(LONGITUDE, LATITUDE).getBody();
+
+        assertThat(close).containsExactly(vendor);
+        assertThat(vendor.getDistance())
+                .isEqualTo(GreatCircle.meters(LATITUDE, LONGITUDE, LATITUDE + 0.01, LONGITUDE));
+    }
+
+    //all within about 3 km in a straight line and under 5 km by road
+    private List<Vendor> vendorsInRadius(int count) {
+        Random random = new Random(count);
+        List<Vendor> vendors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double latitude = LATITUDE + (random.nextDouble() * 2 - 1) * 0.02;
+            double longitude = LONGITUDE + (random.nextDouble() * 2 - 1) * 0.02;
+            roadFactors.put(latitude, 1 + random.nextDouble() * 0.4);
+            vendors.add(vendor(latitude, longitude));
+        }
+        return vendors;
+    }
+
+    private List<UUID> bruteForce(List<Vendor> vendors) {
+        double radiusMeters = RADIUS_KM * 1000;
+        List<Vendor> inRadius = new ArrayList<>();
+        for (Vendor vendor : vendors)
+            if (straightLine(vendor) <= radiusMeters)
+                inRadius.add(vendor);
+        inRadius.sort(Comparator.comparingDouble(this::straightLine));
+
+        List<Vendor> close = new ArrayList<>();
+        for (Vendor vendor : inRadius.subList(0, Math.min(MAX_ROUTED, inRadius.size())))
+            if (roadDistance(vendor) <= radiusMeters)
+                close.add(vendor);
+        close.sort(Comparator.comparingDouble(this::roadDistance));
+        return close.stream().map(Vendor::getUid).toList();
+    }
+
+    private int routedCount(List<Vendor> vendors) {
+        long inRadius = vendors.stream().filter(vendor -> straightLine(vendor) <= RADIUS_KM * 1000).count();
+        return (int) Math.min(MAX_ROUTED, inRadius);
+    }
+
+    private double straightLine(Vendor vendor) {
+        VendorLocation location = vendor.getVendorLocation();
+        return GreatCircle.meters(LATITUDE, LONGITUDE, location.getLatitude(), location.getLongitude());
+    }
+
+    private double roadDistance(Vendor vendor) {
+        return straightLine(vendor) * roadFactors.get(vendor.getVendorLocation().getLatitude());
+    }
+
+    private DistanceResult route(DistanceRequest request) {
+        double meters = GreatCircle.meters(request.getFromLat(), request.getFromLon(), request.getToLat(), request.getToLon())
+                * roadFactors.get(request.getToLat());
+        return DistanceResult.builder().distanceMeters(meters).durationMinutes(meters / 500).provider("test").build();
+    }
+
+    private static Vendor vendor(double latitude, double longitude) {
+        return Vendor.builder()
+                .uid(UUID.randomUUID())
+                .active(true)
+                .vendorLocation(VendorLocation.builder().latitude(latitude).longitude(longitude).build())
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.service;
+
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Distance.Utils.GreatCircle;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.entities.Vendor;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.events.VendorChangedEvent;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.Vendor.repositories.VendorRepository;
+import com.UrFoodDelivery.UrFoodDelivery.Backend.BusinessLogic.VendorLocation.entity.VendorLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VendorSpatialIndexTest {
+
+    private VendorRepository vendorRepository;
+
+    private VendorSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        vendorRepository = mock(VendorRepository.class);
+        index = new VendorSpatialIndex();
+        ReflectionTestUtils.setField(index, "vendorRepository", vendorRepository);
+        ReflectionTestUtils.setField(index, "cellDegrees", 0.01);
+    }
+
+    @Test
+    void nearestMatchesBruteForceScan() {
+        Random random = new Random(42);
+        List<Vendor> vendors = new ArrayList<>();
+        for (int i = 0; i < 2000; i++)
+            vendors.add(vendor(45.0 + random.nextDouble() * 0.2 - 0.1, 7.0 + random.nextDouble() * 0.2 - 0.1));
+        when(vendorRepository.findActiveWithLocation()).thenReturn(vendors);
+        index.rebuild();
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = 45.0 + random.nextDouble() * 0.24 - 0.12;
+            double longitude = 7.0 + random.nextDouble() * 0.24 - 0.12;
+            assertMatchesBruteForce(vendors, latitude, longitude, 1 + random.nextInt(30), 200 + random.nextDouble() * 8000);
+        }
+    }
+
+    @Test
+    void ringWalkMatchesBruteForce() {
+        //spread over far more cells than any radius below reaches, so the rings are walked
+        Random random = new Random(7);
+        List<Vendor> vendors = new ArrayList<>();
+        for (int i = 0; i < 20000; i++)
+            vendors.add(vendor(45.0 + random.nextDouble() * 2 - 1, 7.0 + random.nextDouble() * 2 - 1));
+        when(vendorRepository.findActiveWithLocation()).thenReturn(vendors);
+        index.rebuild();
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = 45.0 + random.nextDouble() * 1.6 - 0.8;
+            double longitude = 7.0 + random.nextDouble() * 1.6 - 0.8;
+            assertMatchesBruteForce(vendors, latitude, longitude, 1 + random.nextInt(30), 200 + random.nextDouble() * 8000);
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    void wideRadiusOverFewVendorsReadsTheOccupiedCells() {
+        //a 2000 km radius spans millions of cells, only 50 hold a vendor
+        Random random = new Random(3);
+        List<Vendor> vendors = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+            vendors.add(vendor(40.0 + random.nextDouble() * 10, 5.0 + random.nextDouble() * 10));
+        when(vendorRepository.findActiveWithLocation()).thenReturn(vendors);
+        index.rebuild();
+
+        for (int query = 0; query < 20; query++)
+            assertMatchesBruteForce(vendors, 40.0 + random.nextDouble() * 10, 5.0 + random.nextDouble() * 10,
+                    1 + random.nextInt(10), 2_000_000);
+    }
+
+    @Test
+    void nearestIsEmptyBeforeFirstBuild() {
+        assertThat(index.nearest(45.0, 7.0, 5, 1000)).isEmpty();
+    }
+
+    @Test
+    void nonPositiveKFindsNothing() {
+        when(vendorRepository.findActiveWithLocation()).thenReturn(List.of(vendor(45.0, 7.0)));
+        index.rebuild();
+
+        assertThat(index.nearest(45.0, 7.0, 0, 1000)).contains(List.of());
+        assertThat(index.nearest(45.0, 7.0, -1, 1000)).contains(List.of());
+    }
+
+    @Test
+    void followsVendorChanges() {
+        Vendor vendor = vendor(45.0, 7.0);
+        when(vendorRepository.findActiveWithLocation()).thenReturn(List.of(vendor));
+        index.rebuild();
+
+        //moved out of range
+        index.onVendorChanged(new VendorChangedEvent(vendor.getUid(), true, 46.0, 7.0));
+        assertThat(index.nearest(45.0, 7.0, 5, 1000).orElseThrow()).isEmpty();
+
+        //moved back, then closed
+        index.onVendorChanged(new VendorChangedEvent(vendor.getUid(), true, 45.001, 7.0));
+        assertThat(index.nearest(45.0, 7.0, 5, 1000).orElseThrow())
+                .extracting(VendorSpatialIndex.Neighbor::getVendorUid).containsExactly(vendor.getUid());
+        index.onVendorChanged(new VendorChangedEvent(vendor.getUid(), false, 45.001, 7.0));
+        assertThat(index.nearest(45.0, 7.0, 5, 1000).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void eventsDuringRebuildAreKept() {
+        Vendor existing = vendor(45.0, 7.0);
+        UUID opened = UUID.randomUUID();
+        when(vendorRepository.findActiveWithLocation()).thenAnswer(invocation -> {
+            //committed while the vendors are read, the read no longer sees one and not yet the other
+            index.onVendorChanged(new VendorChangedEvent(opened, true, 45.002, 7.0));
+            index.onVendorChanged(new VendorChangedEvent(existing.getUid(), false, null, null));
+            return List.of(existing);
+        });
+        index.rebuild();
+
+        assertThat(index.nearest(45.0, 7.0, 5, 1000).orElseThrow())
+                .extracting(VendorSpatialIndex.Neighbor::getVendorUid).containsExactly(opened);
+    }
+
+    private void assertMatchesBruteForce(List<Vendor> vendors, double latitude, double longitude, int k, double radius) {
+        List<UUID> expected = vendors.stream()
+                .filter(vendor -> distance(vendor, latitude, longitude) <= radius)
+                .sorted(Comparator.comparingDouble(vendor -> distance(vendor, latitude, longitude)))
+                .limit(k)
+                .map(Vendor::getUid)
+                .toList();
+
+        List<UUID> found = index.nearest(latitude, longitude, k, radius).orElseThrow().stream()
+                .map(VendorSpatialIndex.Neighbor::getVendorUid)
+                .toList();
+        assertThat(found).as("at %f,%f k=%d radius=%f", latitude, longitude, k, radius).isEqualTo(expected);
+    }
+
+    private static Vendor vendor(double latitude, double longitude) {
+        return Vendor.builder()
+                .uid(UUID.randomUUID())
+                .active(true)
+                .vendorLocation(VendorLocation.builder().latitude(latitude).longitude(longitude).build())
+                .build();
+    }
+
+    private static double distance(Vendor vendor, double latitude, double longitude) {
+        return GreatCircle.meters(latitude, longitude,
+                vendor.getVendorLocation().getLatitude(), vendor.getVendorLocation().getLongitude());
+    }
+}
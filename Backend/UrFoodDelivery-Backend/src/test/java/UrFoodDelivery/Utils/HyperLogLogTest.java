@@ -0,0 +1,102 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HyperLogLogTest {
+
+    //three standard errors, 1.04 / sqrt(registers) each
+    private static final double TOLERANCE = 3 * 1.04 / Math.sqrt(HyperLogLog.REGISTERS);
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1_000, 10_000, 100_000, 1_000_000})
+    void estimatesRandomUuidsWithinThreeStandardErrors(int size) {
+        Random random = new Random(size);
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < size; i++)
+            sketch.add(new UUID(random.nextLong(), random.nextLong()));
+
+        assertThat(relativeError(sketch.estimate(), size)).isLessThanOrEqualTo(TOLERANCE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void estimatesSequentialUuidsWithinThreeStandardErrors(int size) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < size; i++)
+            sketch.add(new UUID(0x1234L, i));
+
+        assertThat(relativeError(sketch.estimate(), size)).isLessThanOrEqualTo(TOLERANCE);
+    }
+
+    @Test
+    void addingTheSameUuidAgainChangesNothing() {
+        Random random = new Random(1);
+        HyperLogLog sketch = new HyperLogLog();
+        UUID[] uuids = new UUID[5_000];
+        for (int i = 0; i < uuids.length; i++) {
+            uuids[i] = new UUID(random.nextLong(), random.nextLong());
+            sketch.add(uuids[i]);
+        }
+        long estimate = sketch.estimate();
+
+        for (UUID uuid : uuids)
+            sketch.add(uuid);
+
+        assertThat(sketch.estimate()).isEqualTo(estimate);
+    }
+
+    @Test
+    void mergeOfDisjointSketchesEqualsSketchOfTheUnion() {
+        Random random = new Random(2);
+        HyperLogLog even = new HyperLogLog();
+        HyperLogLog odd = new HyperLogLog();
+        HyperLogLog all = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            (i % 2 == 0 ? even : odd).add(uuid);
+            all.add(uuid);
+        }
+
+        even.merge(odd);
+
+        assertThat(even.toBytes()).isEqualTo(all.toBytes());
+        assertThat(relativeError(even.estimate(), 50_000)).isLessThanOrEqualTo(TOLERANCE);
+    }
+
+    @Test
+    void registersRoundTripThroughBytes() {
+        Random random = new Random(3);
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++)
+            sketch.add(new UUID(random.nextLong(), random.nextLong()));
+
+        HyperLogLog restored = HyperLogLog.of(sketch.toBytes());
+
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+        assertThat(new HyperLogLog().estimate()).isZero();
+        assertThatThrownBy(() -> HyperLogLog.of(new byte[16])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void registerAndRankMatchWhatAddStores() {
+        UUID uuid = UUID.randomUUID();
+        HyperLogLog sketch = new HyperLogLog();
+        sketch.add(uuid);
+
+        byte[] registers = sketch.toBytes();
+        assertThat(registers[HyperLogLog.register(uuid)]).isEqualTo((byte) HyperLogLog.rank(uuid));
+        assertThat(HyperLogLog.rank(uuid)).isBetween(1, Long.SIZE - HyperLogLog.PRECISION + 1);
+    }
+
+    private static double relativeError(long estimate, int actual) {
+        return Math.abs(estimate - actual) / (double) actual;
+    }
+}
@@ -0,0 +1,49 @@
+package com.UrFoodDelivery.UrFoodDelivery.Backend.Utils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    @Test
+    void expiredTokenStillNamesItsSessionForLogout() {
+        UUID sessionId = UUID.randomUUID();
+        String token = token(-60_000, sessionId);
+
+        assertThatThrownBy(() -> jwtUtil.parse(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtUtil.parseAllowingExpired(token).getSessionId()).isEqualTo(sessionId);
+    }
+
+    @Test
+    void expiredTokenWithABadSignatureIsRejected() {
+        String token = token(-60_000, UUID.randomUUID());
+        int at = token.length() - 10;
+        String tampered = token.substring(0, at) + (token.charAt(at) == 'A' ? 'B' : 'A') + token.substring(at + 1);
+
+        assertThatThrownBy(() -> jwtUtil.parseAllowingExpired(tampered))
+                .isInstanceOf(JwtException.class)
+                .isNotInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void validTokenParsesTheSame() {
+        UUID sessionId = UUID.randomUUID();
+        String token = token(60_000, sessionId);
+
+        assertThat(jwtUtil.parseAllowingExpired(token).getSessionId()).isEqualTo(jwtUtil.parse(token).getSessionId());
+    }
+
+    private String token(long validity, UUID sessionId) {
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenValidity", validity);
+        return jwtUtil.createAccessToken("student", sessionId);
+    }
+}
@@ -69,6 +69,9 @@ interface Order {
 export default function HistoryPage() {
   const [orders, setOrders] = useState<Order[]>([])
   const [loading, setLoading] = useState(true)
+  // cursor of the next page from the X-Next-Cursor header, null once everything is loaded
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [expandedOrder, setExpandedOrder] = useState<string | null>(null)
   const { toast } = useToast()
   const { addItem } = useCart()
@@ -78,10 +81,11 @@ export default function HistoryPage() {
     fetchOrderHistory()
   }, [])
 
-  const fetchOrderHistory = async () => {
+  const fetchOrderHistory = async (cursor?: string) => {
     try {
-      const response = await api.get("/api/v1/orders/history")
-      setOrders(response.data)
+      const response = await api.get("/api/v1/orders/history", { params: cursor ? { cursor } : {} })
+      setOrders((previous) => (cursor ? [...previous, ...response.data] : response.data))
+      setNextCursor(response.headers["x-next-cursor"] ?? null)
     } catch (error) {
       console.error("Failed to fetch order history:", error)
       toast({
@@ -94,6 +98,13 @@ export default function HistoryPage() {
     }
   }
 
+  const loadMore = async () => {
+    if (!nextCursor) return
+    setLoadingMore(true)
+    await fetchOrderHistory(nextCursor)
+    setLoadingMore(false)
+  }
+
   const handleReorder = async (order: Order) => {
     try {
       // Add all items from the order to cart
@@ -397,6 +408,12 @@ export default function HistoryPage() {
               </Card>
             )
           })}
+
+          {nextCursor && (
+            <Button variant="outline" className="w-full" onClick={loadMore} disabled={loadingMore}>
+              {loadingMore ? "Loading..." : "Load more"}
+            </Button>
+          )}
         </div>
       )}
     </div>
@@ -2,7 +2,7 @@
 
 import { createContext, useContext, useState, useEffect, type ReactNode } from "react"
 import { useRouter } from "next/navigation"
-import api from "@/lib/axios"
+import api, { clearTokens, logoutSession, saveTokens } from "@/lib/axios"
 
 export type UserRole = "student" | "vendor" | "admin"
 
@@ -19,7 +19,7 @@ interface AuthContextType {
   user: User | null
   login: (email: string, password: string, role: UserRole) => Promise<void>
   register: (username: string, email: string, password: string, confirmPassword: string, name: string, role: UserRole) => Promise<void>
-  logout: () => void
+  logout: () => Promise<void>
   isLoading: boolean
   refresh: () => void
 }
@@ -46,7 +46,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
       })
       .catch((err) => {
         console.error("Token invalid or expired:", err)
-        localStorage.removeItem("token")
+        clearTokens()
         localStorage.removeItem("user")
       })
       .finally(() => setIsLoading(false))
@@ -67,7 +67,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
       })
       .catch((err) => {
         console.error("Token invalid or expired:", err)
-        localStorage.removeItem("token")
+        clearTokens()
         localStorage.removeItem("user")
       })
       .finally(() => setIsLoading(false))
@@ -75,8 +75,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
 
   const login = async (username: string, password: string) => {
     const res = await api.post("/api/v1/auth/login", { username, password })
-    const token = res.data.authorization?.replace("Bearer ", "")
-    localStorage.setItem("token", token)
+    saveTokens(res.data)
 
     const userRes = await api.get("/api/v1/auth/checkUser")
     const userData = userRes.data
@@ -90,8 +89,7 @@ export function AuthProvider({ children }: { children: ReactNode }) {
 
   const loginV = async (username: string, password: string) => {
     const res = await api.post("/api/v1/auth/login", { username, password })
-    const token = res.data.authorization?.replace("Bearer ", "")
-    localStorage.setItem("token", token)
+    saveTokens(res.data)
 
     const userRes = await api.get("/api/v1/auth/checkUser")
     const userData = userRes.data
@@ -115,9 +113,12 @@ export function AuthProvider({ children }: { children: ReactNode }) {
       await login(username, password)
   }
 
-  const logout = () => {
+  const logout = async () => {
+    // revokes the session and its refresh token on the server, the local state goes either way.
+    // the refresh token finds the session even when the access token already expired
+    await logoutSession().catch((err) => console.error("Logout failed:", err))
     setUser(null)
-    localStorage.removeItem("token")
+    clearTokens()
     localStorage.removeItem("user")
     router.push("/login")
   }
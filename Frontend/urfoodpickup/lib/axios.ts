@@ -1,16 +1,98 @@
-import axios from "axios"
+import axios, { type AxiosError, type InternalAxiosRequestConfig } from "axios"
+
+const baseURL = "http://localhost:8080"
 
 const api = axios.create({
-  baseURL: "http://localhost:8080",
+  baseURL,
 })
 
+// refresh a bit before the access token runs out so requests in flight don't fail
+const REFRESH_MARGIN_MS = 30_000
+
+let refreshing: Promise<string | null> | null = null
+
+// store the tokens returned by /login and /refresh
+export function saveTokens(data: { authorization?: string; refreshToken?: string; expiresIn?: number }) {
+  const token = data.authorization?.replace("Bearer ", "")
+  if (token) localStorage.setItem("token", token)
+  if (data.refreshToken) localStorage.setItem("refreshToken", data.refreshToken)
+  if (data.expiresIn) localStorage.setItem("tokenExpiresAt", String(Date.now() + data.expiresIn * 1000))
+}
+
+export function clearTokens() {
+  localStorage.removeItem("token")
+  localStorage.removeItem("refreshToken")
+  localStorage.removeItem("tokenExpiresAt")
+}
 
-api.interceptors.request.use((config) => {
+// refresh tokens are single use, every caller waits on the same request
+export function refreshAccessToken(): Promise<string | null> {
+  const refreshToken = localStorage.getItem("refreshToken")
+  if (!refreshToken) return Promise.resolve(null)
+
+  if (!refreshing) {
+    refreshing = axios
+      .post(`${baseURL}/api/v1/auth/refresh`, { refreshToken })
+      .then((res) => {
+        saveTokens(res.data)
+        return localStorage.getItem("token")
+      })
+      .catch(() => {
+        clearTokens()
+        localStorage.removeItem("user")
+        return null
+      })
+      .finally(() => {
+        refreshing = null
+      })
+  }
+  return refreshing
+}
+
+// revoke the session on the server. Goes around the interceptors, an expired access token
+// must not be refreshed first, the refresh token in the body is enough to find the session
+export async function logoutSession() {
   const token = localStorage.getItem("token")
+  const refreshToken = localStorage.getItem("refreshToken")
+  if (!token && !refreshToken) return
+
+  await axios.post(
+    `${baseURL}/api/v1/auth/logout`,
+    { refreshToken },
+    { headers: token ? { Authorization: `Bearer ${token}` } : {} },
+  )
+}
+
+function expiresSoon() {
+  const expiresAt = Number(localStorage.getItem("tokenExpiresAt"))
+  return !!expiresAt && expiresAt - Date.now() < REFRESH_MARGIN_MS
+}
+
+api.interceptors.request.use(async (config) => {
+  let token = localStorage.getItem("token")
+  if (token && expiresSoon()) {
+    token = await refreshAccessToken()
+  }
   if (token) {
     config.headers.Authorization = `Bearer ${token}`
   }
   return config
 })
 
+// a missing or expired token is rejected with 401, retry once with a fresh token.
+// 403 means the account may not do this, a new token would not change that
+api.interceptors.response.use(undefined, async (error: AxiosError) => {
+  const config = error.config as (InternalAxiosRequestConfig & { _retried?: boolean }) | undefined
+  const status = error.response?.status
+  if (!config || config._retried || status !== 401 || !localStorage.getItem("refreshToken")) {
+    throw error
+  }
+
+  config._retried = true
+  const token = await refreshAccessToken()
+  if (!token) throw error
+  config.headers.Authorization = `Bearer ${token}`
+  return api(config)
+})
+
 export default api